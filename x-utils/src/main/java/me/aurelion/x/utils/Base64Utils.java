@@ -0,0 +1,537 @@
+package me.aurelion.x.utils;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * X-Utils Base64相关
+ * <p>纯Java实现, 不依赖Android, 可用于JVM单元测试及服务端</p>
+ * <p>标志位与 android.util.Base64 相同, 相同标志位下输出逐字节一致</p>
+ *
+ * @author Leon (wshk729@163.com)
+ * @date 2026/10/18
+ */
+public class Base64Utils {
+
+    /**
+     * 默认: 补齐'=', 每76字符换行(含末尾)
+     */
+    public static final int DEFAULT = 0;
+    /**
+     * 不补齐'='
+     */
+    public static final int NO_PADDING = 1;
+    /**
+     * 不换行
+     */
+    public static final int NO_WRAP = 2;
+    /**
+     * 换行使用CRLF, 配合换行即为MIME格式
+     */
+    public static final int CRLF = 4;
+    /**
+     * URL安全字母表, 以'-'、'_'替代'+'、'/'
+     */
+    public static final int URL_SAFE = 8;
+
+    private static final int LINE_GROUPS = 19;
+    private static final int SKIP = -1;
+    private static final int EQUALS = -2;
+
+    private static final byte[] ENCODE = alphabet('+', '/');
+    private static final byte[] ENCODE_URL_SAFE = alphabet('-', '_');
+    private static final byte[] DECODE = decodeTable(ENCODE);
+    private static final byte[] DECODE_URL_SAFE = decodeTable(ENCODE_URL_SAFE);
+
+    private Base64Utils() {
+        throw new UnsupportedOperationException("No instantiate " + getClass().getSimpleName());
+    }
+
+    /*
+     *  ########## 编译相关 ##########
+     */
+
+    /**
+     * 获取编译后长度
+     *
+     * @param len   内容长度
+     * @param flags 标志位
+     * @return 编译后字节数
+     */
+    public static int getEncodedLength(final int len, final int flags) {
+        int ret = len / 3 * 4;
+        if ((flags & NO_PADDING) == 0) {
+            if (len % 3 > 0) {
+                ret += 4;
+            }
+        } else {
+            switch (len % 3) {
+                case 1:
+                    ret += 2;
+                    break;
+                case 2:
+                    ret += 3;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if ((flags & NO_WRAP) == 0 && len > 0) {
+            ret += ((len - 1) / (3 * LINE_GROUPS) + 1) * ((flags & CRLF) != 0 ? 2 : 1);
+        }
+        return ret;
+    }
+
+    /**
+     * Base64编译
+     *
+     * @param content 内容
+     * @param flags   标志位
+     * @return 编译内容
+     */
+    public static byte[] encode(final byte[] content, final int flags) {
+        if (content == null || content.length == 0) {
+            return new byte[0];
+        }
+        return encode(content, 0, content.length, flags);
+    }
+
+    /**
+     * Base64编译
+     *
+     * @param content 内容
+     * @param offset  起始位置
+     * @param len     长度
+     * @param flags   标志位
+     * @return 编译内容
+     */
+    public static byte[] encode(final byte[] content, final int offset, final int len, final int flags) {
+        byte[] ret = new byte[getEncodedLength(len, flags)];
+        encode0(content, null, offset, len, ret, null, 0, flags);
+        return ret;
+    }
+
+    /**
+     * Base64编译
+     *
+     * @param content 内容
+     * @param flags   标志位
+     * @return 编译内容
+     */
+    public static String encodeToString(final byte[] content, final int flags) {
+        return new String(encode(content, flags), Charset.forName("US-ASCII"));
+    }
+
+    /**
+     * Base64编译
+     * <p>写入调用方数组, 需预留 {@link #getEncodedLength(int, int)} 个字节</p>
+     *
+     * @param content    内容
+     * @param offset     起始位置
+     * @param len        长度
+     * @param dest       输出数组
+     * @param destOffset 输出起始位置
+     * @param flags      标志位
+     * @return 写入字节数
+     */
+    public static int encode(final byte[] content,
+                             final int offset,
+                             final int len,
+                             final byte[] dest,
+                             final int destOffset,
+                             final int flags) {
+        return encode0(content, null, offset, len, dest, null, destOffset, flags);
+    }
+
+    /**
+     * Base64编译
+     * <p>编译content剩余的全部内容并写入dest, 两者的position随之后移</p>
+     *
+     * @param content 内容
+     * @param dest    输出
+     * @param flags   标志位
+     * @return 写入字节数
+     * @throws BufferOverflowException dest剩余空间不足, 此时不写入任何内容
+     */
+    public static int encode(final ByteBuffer content, final ByteBuffer dest, final int flags) {
+        int len = content.remaining();
+        if (dest.remaining() < getEncodedLength(len, flags)) {
+            throw new BufferOverflowException();
+        }
+        int ret;
+        if (content.hasArray() && dest.hasArray() && !dest.isReadOnly()) {
+            ret = encode0(content.array(), null, content.arrayOffset() + content.position(), len,
+                    dest.array(), null, dest.arrayOffset() + dest.position(), flags);
+        } else {
+            ret = encode0(null, content, content.position(), len, null, dest, dest.position(), flags);
+        }
+        content.position(content.limit());
+        dest.position(dest.position() + ret);
+        return ret;
+    }
+
+    /*
+     *  ########## 解译相关 ##########
+     */
+
+    /**
+     * 获取解译后长度
+     * <p>非Base64字符将被跳过</p>
+     *
+     * @param content 内容
+     * @param offset  起始位置
+     * @param len     长度
+     * @param flags   标志位
+     * @return 解译后字节数, 内容非法返回-1
+     */
+    public static int getDecodedLength(final byte[] content, final int offset, final int len, final int flags) {
+        return decode0(content, null, null, offset, offset + len, null, null, 0, flags);
+    }
+
+    /**
+     * 获取解译后长度
+     * <p>非Base64字符将被跳过</p>
+     *
+     * @param content 内容
+     * @param start   起始位置
+     * @param end     结束位置
+     * @param flags   标志位
+     * @return 解译后字节数, 内容非法返回-1
+     */
+    public static int getDecodedLength(final CharSequence content, final int start, final int end, final int flags) {
+        return decode0(null, content, null, start, end, null, null, 0, flags);
+    }
+
+    /**
+     * 获取解译后长度, 不改变position
+     * <p>非Base64字符将被跳过</p>
+     *
+     * @param content 内容
+     * @param flags   标志位
+     * @return 解译后字节数, 内容非法返回-1
+     */
+    public static int getDecodedLength(final ByteBuffer content, final int flags) {
+        return decode0(null, null, content, content.position(), content.limit(), null, null, 0, flags);
+    }
+
+    /**
+     * Base64解译
+     *
+     * @param content 内容
+     * @param flags   标志位, 仅 {@link #URL_SAFE} 有效
+     * @return 解译内容
+     * @throws IllegalArgumentException 内容非法
+     */
+    public static byte[] decode(final byte[] content, final int flags) {
+        if (content == null || content.length == 0) {
+            return new byte[0];
+        }
+        int len = getDecodedLength(content, 0, content.length, flags);
+        if (len < 0) {
+            throw new IllegalArgumentException("bad base-64");
+        }
+        byte[] ret = new byte[len];
+        decode0(content, null, null, 0, content.length, ret, null, 0, flags);
+        return ret;
+    }
+
+    /**
+     * Base64解译
+     *
+     * @param content 内容
+     * @param flags   标志位, 仅 {@link #URL_SAFE} 有效
+     * @return 解译内容
+     * @throws IllegalArgumentException 内容非法
+     */
+    public static byte[] decode(final CharSequence content, final int flags) {
+        if (content == null || content.length() == 0) {
+            return new byte[0];
+        }
+        int len = getDecodedLength(content, 0, content.length(), flags);
+        if (len < 0) {
+            throw new IllegalArgumentException("bad base-64");
+        }
+        byte[] ret = new byte[len];
+        decode0(null, content, null, 0, content.length(), ret, null, 0, flags);
+        return ret;
+    }
+
+    /**
+     * Base64解译
+     * <p>写入调用方数组, 需预留 {@link #getDecodedLength(byte[], int, int, int)} 个字节;
+     * 内容非法时已写入的内容无意义</p>
+     *
+     * @param content    内容
+     * @param offset     起始位置
+     * @param len        长度
+     * @param dest       输出数组
+     * @param destOffset 输出起始位置
+     * @param flags      标志位, 仅 {@link #URL_SAFE} 有效
+     * @return 写入字节数
+     * @throws IllegalArgumentException 内容非法
+     */
+    public static int decode(final byte[] content,
+                             final int offset,
+                             final int len,
+                             final byte[] dest,
+                             final int destOffset,
+                             final int flags) {
+        return checkDecoded(decode0(content, null, null, offset, offset + len, dest, null, destOffset, flags));
+    }
+
+    /**
+     * Base64解译
+     * <p>解译content的[start, end)区间并写入调用方数组, 无需转换为String;
+     * 需预留 {@link #getDecodedLength(CharSequence, int, int, int)} 个字节</p>
+     *
+     * @param content    内容
+     * @param start      起始位置
+     * @param end        结束位置
+     * @param dest       输出数组
+     * @param destOffset 输出起始位置
+     * @param flags      标志位, 仅 {@link #URL_SAFE} 有效
+     * @return 写入字节数
+     * @throws IllegalArgumentException 内容非法
+     */
+    public static int decode(final CharSequence content,
+                             final int start,
+                             final int end,
+                             final byte[] dest,
+                             final int destOffset,
+                             final int flags) {
+        return checkDecoded(decode0(null, content, null, start, end, dest, null, destOffset, flags));
+    }
+
+    /**
+     * Base64解译
+     * <p>解译content剩余的全部内容并写入dest, 两者的position随之后移</p>
+     *
+     * @param content 内容
+     * @param dest    输出
+     * @param flags   标志位, 仅 {@link #URL_SAFE} 有效
+     * @return 写入字节数
+     * @throws BufferOverflowException  dest剩余空间不足, 此时不写入任何内容
+     * @throws IllegalArgumentException 内容非法
+     */
+    public static int decode(final ByteBuffer content, final ByteBuffer dest, final int flags) {
+        int len = content.remaining();
+        // 剩余空间不足上限时才需精确计算
+        if (dest.remaining() < (len + 3) / 4 * 3
+                && dest.remaining() < checkDecoded(getDecodedLength(content, flags))) {
+            throw new BufferOverflowException();
+        }
+        int ret;
+        if (content.hasArray() && dest.hasArray() && !dest.isReadOnly()) {
+            int offset = content.arrayOffset() + content.position();
+            ret = decode0(content.array(), null, null, offset, offset + len,
+                    dest.array(), null, dest.arrayOffset() + dest.position(), flags);
+        } else {
+            ret = decode0(null, null, content, content.position(), content.limit(),
+                    null, dest, dest.position(), flags);
+        }
+        checkDecoded(ret);
+        content.position(content.limit());
+        dest.position(dest.position() + ret);
+        return ret;
+    }
+
+    /*
+     *  ########## 相关方法 ##########
+     */
+
+    private static byte[] alphabet(final char c62, final char c63) {
+        byte[] ret = new byte[64];
+        for (int i = 0; i < 26; i++) {
+            ret[i] = (byte) ('A' + i);
+            ret[i + 26] = (byte) ('a' + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            ret[i + 52] = (byte) ('0' + i);
+        }
+        ret[62] = (byte) c62;
+        ret[63] = (byte) c63;
+        return ret;
+    }
+
+    private static byte[] decodeTable(final byte[] alphabet) {
+        byte[] ret = new byte[256];
+        Arrays.fill(ret, (byte) SKIP);
+        for (int i = 0; i < alphabet.length; i++) {
+            ret[alphabet[i]] = (byte) i;
+        }
+        ret['='] = EQUALS;
+        return ret;
+    }
+
+    /**
+     * 编译核心, 输入输出为数组或ByteBuffer(绝对位置)之一
+     */
+    private static int encode0(final byte[] src,
+                               final ByteBuffer srcBuffer,
+                               final int offset,
+                               final int len,
+                               final byte[] dest,
+                               final ByteBuffer destBuffer,
+                               final int destOffset,
+                               final int flags) {
+        byte[] table = (flags & URL_SAFE) != 0 ? ENCODE_URL_SAFE : ENCODE;
+        boolean isPadding = (flags & NO_PADDING) == 0;
+        boolean isWrap = (flags & NO_WRAP) == 0;
+        boolean isCR = (flags & CRLF) != 0;
+        int i = offset;
+        int end = offset + len;
+        int j = destOffset;
+        int count = LINE_GROUPS;
+        while (end - i >= 3) {
+            int v = get(src, srcBuffer, i) << 16 | get(src, srcBuffer, i + 1) << 8 | get(src, srcBuffer, i + 2);
+            i += 3;
+            j = put(dest, destBuffer, j, table[v >>> 18]);
+            j = put(dest, destBuffer, j, table[(v >>> 12) & 0x3F]);
+            j = put(dest, destBuffer, j, table[(v >>> 6) & 0x3F]);
+            j = put(dest, destBuffer, j, table[v & 0x3F]);
+            if (isWrap && --count == 0) {
+                j = newLine(dest, destBuffer, j, isCR);
+                count = LINE_GROUPS;
+            }
+        }
+        int tail = end - i;
+        if (tail > 0) {
+            int v = get(src, srcBuffer, i) << 16 | (tail == 2 ? get(src, srcBuffer, i + 1) << 8 : 0);
+            j = put(dest, destBuffer, j, table[v >>> 18]);
+            j = put(dest, destBuffer, j, table[(v >>> 12) & 0x3F]);
+            if (tail == 2) {
+                j = put(dest, destBuffer, j, table[(v >>> 6) & 0x3F]);
+            } else if (isPadding) {
+                j = put(dest, destBuffer, j, '=');
+            }
+            if (isPadding) {
+                j = put(dest, destBuffer, j, '=');
+            }
+            // 与 android.util.Base64 一致, 末尾不足一组时总是换行
+            if (isWrap) {
+                j = newLine(dest, destBuffer, j, isCR);
+            }
+        } else if (isWrap && j > destOffset && count != LINE_GROUPS) {
+            j = newLine(dest, destBuffer, j, isCR);
+        }
+        return j - destOffset;
+    }
+
+    /**
+     * 解译核心, 输入为数组、CharSequence或ByteBuffer(绝对位置)之一, 输出均为null时仅计数
+     * <p>state: 0~3 当前组已读字符数, 4 已读 "xx=" 待第二个'=', 5 已结束</p>
+     *
+     * @return 解译后字节数, 内容非法返回-1
+     */
+    private static int decode0(final byte[] src,
+                               final CharSequence chars,
+                               final ByteBuffer srcBuffer,
+                               final int start,
+                               final int end,
+                               final byte[] dest,
+                               final ByteBuffer destBuffer,
+                               final int destOffset,
+                               final int flags) {
+        byte[] table = (flags & URL_SAFE) != 0 ? DECODE_URL_SAFE : DECODE;
+        boolean isCount = dest == null && destBuffer == null;
+        int state = 0;
+        int value = 0;
+        int j = destOffset;
+        for (int i = start; i < end; i++) {
+            int c = src != null ? src[i] & 0xFF : chars != null ? chars.charAt(i) : srcBuffer.get(i) & 0xFF;
+            int d = c < 256 ? table[c] : SKIP;
+            if (d >= 0) {
+                if (state >= 4) {
+                    return -1;
+                }
+                value = value << 6 | d;
+                if (++state == 4) {
+                    if (!isCount) {
+                        put(dest, destBuffer, j, value >> 16);
+                        put(dest, destBuffer, j + 1, value >> 8);
+                        put(dest, destBuffer, j + 2, value);
+                    }
+                    j += 3;
+                    state = 0;
+                    value = 0;
+                }
+            } else if (d == EQUALS) {
+                switch (state) {
+                    case 2:
+                        state = 4;
+                        break;
+                    case 3:
+                        if (!isCount) {
+                            put(dest, destBuffer, j, value >> 10);
+                            put(dest, destBuffer, j + 1, value >> 2);
+                        }
+                        j += 2;
+                        state = 5;
+                        break;
+                    case 4:
+                        if (!isCount) {
+                            put(dest, destBuffer, j, value >> 4);
+                        }
+                        j++;
+                        state = 5;
+                        break;
+                    default:
+                        return -1;
+                }
+            }
+        }
+        // 未补齐'='时按剩余字符数输出
+        switch (state) {
+            case 0:
+            case 5:
+                break;
+            case 2:
+                if (!isCount) {
+                    put(dest, destBuffer, j, value >> 4);
+                }
+                j++;
+                break;
+            case 3:
+                if (!isCount) {
+                    put(dest, destBuffer, j, value >> 10);
+                    put(dest, destBuffer, j + 1, value >> 2);
+                }
+                j += 2;
+                break;
+            default:
+                return -1;
+        }
+        return j - destOffset;
+    }
+
+    private static int checkDecoded(final int len) {
+        if (len < 0) {
+            throw new IllegalArgumentException("bad base-64");
+        }
+        return len;
+    }
+
+    private static int get(final byte[] array, final ByteBuffer buffer, final int index) {
+        return (array != null ? array[index] : buffer.get(index)) & 0xFF;
+    }
+
+    private static int put(final byte[] array, final ByteBuffer buffer, final int index, final int value) {
+        if (array != null) {
+            array[index] = (byte) value;
+        } else {
+            buffer.put(index, (byte) value);
+        }
+        return index + 1;
+    }
+
+    private static int newLine(final byte[] array, final ByteBuffer buffer, final int index, final boolean isCR) {
+        int ret = index;
+        if (isCR) {
+            ret = put(array, buffer, ret, '\r');
+        }
+        return put(array, buffer, ret, '\n');
+    }
+
+}
@@ -0,0 +1,613 @@
+package me.aurelion.x.utils;
+
+import android.support.annotation.VisibleForTesting;
+import android.text.TextUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * X-Utils 校验和相关
+ * <p>非加密校验和, 仅用于损坏检测与缓存键, 不可用于防篡改</p>
+ *
+ * @author Leon (wshk729@163.com)
+ * @date 2026/10/18
+ */
+public class ChecksumUtils {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private static final ThreadLocal<byte[]> BUFFER = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[BUFFER_SIZE];
+        }
+    };
+
+    private ChecksumUtils() {
+        throw new UnsupportedOperationException("No instantiate " + getClass().getSimpleName());
+    }
+
+    /*
+     *  ########## CRC32C相关 ##########
+     */
+
+    /**
+     * 新建CRC32C校验和
+     * <p>优先使用 java.util.zip.CRC32C (可硬件加速), 不可用时使用查表实现</p>
+     *
+     * @return 校验和
+     */
+    public static Checksum newCRC32C() {
+        Constructor<?> constructor = CRC32CHolder.CONSTRUCTOR;
+        if (constructor != null) {
+            try {
+                return (Checksum) constructor.newInstance();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        return new CRC32C();
+    }
+
+    /**
+     * CRC32C校验
+     *
+     * @param data 数据
+     * @return 校验和
+     */
+    public static String crc32c2String(final byte[] data) {
+        return data == null ? null : toHexString(crc32c(data), 4);
+    }
+
+    /**
+     * CRC32C校验
+     *
+     * @param data 数据
+     * @return 校验和, 失败返回-1
+     */
+    public static long crc32c(final byte[] data) {
+        if (data == null) {
+            return -1;
+        }
+        return crc32c(data, 0, data.length);
+    }
+
+    /**
+     * CRC32C校验
+     *
+     * @param data   数据
+     * @param offset 偏移
+     * @param len    长度
+     * @return 校验和, 失败返回-1
+     */
+    public static long crc32c(final byte[] data, final int offset, final int len) {
+        return checksum(data, offset, len, newCRC32C());
+    }
+
+    /**
+     * CRC32C校验
+     * <p>处理 position 至 limit 间的数据, 不改变缓冲区位置</p>
+     *
+     * @param buffer 缓冲区
+     * @return 校验和, 失败返回-1
+     */
+    public static long crc32c(final ByteBuffer buffer) {
+        return checksum(buffer, newCRC32C());
+    }
+
+    /**
+     * CRC32C文件校验
+     *
+     * @param filePath 文件路径
+     * @return 校验和
+     */
+    public static String crc32cFile2String(final String filePath) {
+        File file = TextUtils.isEmpty(filePath) ? null : new File(filePath);
+        return crc32cFile2String(file);
+    }
+
+    /**
+     * CRC32C文件校验
+     *
+     * @param file 文件
+     * @return 校验和, 失败返回null
+     */
+    public static String crc32cFile2String(final File file) {
+        Checksum checksum = newCRC32C();
+        return updateFile(file, checksum) ? toHexString(checksum.getValue(), 4) : null;
+    }
+
+    /**
+     * CRC32C文件校验
+     *
+     * @param file 文件
+     * @return 校验和, 失败返回-1
+     */
+    public static long crc32cFile(final File file) {
+        Checksum checksum = newCRC32C();
+        return updateFile(file, checksum) ? checksum.getValue() : -1;
+    }
+
+    /**
+     * CRC32C输入流校验
+     * <p>读取至流末尾, 不关闭流</p>
+     *
+     * @param is 输入流
+     * @return 校验和, 失败返回-1
+     */
+    public static long crc32cStream(final InputStream is) {
+        Checksum checksum = newCRC32C();
+        return updateStream(is, checksum) ? checksum.getValue() : -1;
+    }
+
+    private static final class CRC32CHolder {
+        private static final Constructor<?> CONSTRUCTOR = getConstructor();
+
+        private static Constructor<?> getConstructor() {
+            try {
+                return Class.forName("java.util.zip.CRC32C").getConstructor();
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * CRC32C (Castagnoli) 的 slicing-by-8 查表实现
+     */
+    @VisibleForTesting
+    static final class CRC32C implements Checksum {
+
+        private static final int[][] TABLE = new int[8][256];
+
+        static {
+            for (int i = 0; i < 256; i++) {
+                int crc = i;
+                for (int j = 0; j < 8; j++) {
+                    crc = (crc >>> 1) ^ (0x82F63B78 & -(crc & 1));
+                }
+                TABLE[0][i] = crc;
+            }
+            for (int i = 0; i < 256; i++) {
+                for (int j = 1; j < 8; j++) {
+                    int crc = TABLE[j - 1][i];
+                    TABLE[j][i] = (crc >>> 8) ^ TABLE[0][crc & 0xFF];
+                }
+            }
+        }
+
+        private int mCrc = 0xFFFFFFFF;
+
+        @Override
+        public void update(final int b) {
+            mCrc = (mCrc >>> 8) ^ TABLE[0][(mCrc ^ b) & 0xFF];
+        }
+
+        @Override
+        public void update(final byte[] b, final int off, final int len) {
+            int[] t0 = TABLE[0];
+            int[] t1 = TABLE[1];
+            int[] t2 = TABLE[2];
+            int[] t3 = TABLE[3];
+            int[] t4 = TABLE[4];
+            int[] t5 = TABLE[5];
+            int[] t6 = TABLE[6];
+            int[] t7 = TABLE[7];
+            int crc = mCrc;
+            int i = off;
+            int end = off + len;
+            for (; i <= end - 8; i += 8) {
+                crc ^= (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16 | b[i + 3] << 24;
+                crc = t7[crc & 0xFF] ^ t6[(crc >>> 8) & 0xFF] ^ t5[(crc >>> 16) & 0xFF] ^ t4[crc >>> 24]
+                        ^ t3[b[i + 4] & 0xFF] ^ t2[b[i + 5] & 0xFF] ^ t1[b[i + 6] & 0xFF] ^ t0[b[i + 7] & 0xFF];
+            }
+            for (; i < end; i++) {
+                crc = (crc >>> 8) ^ t0[(crc ^ b[i]) & 0xFF];
+            }
+            mCrc = crc;
+        }
+
+        @Override
+        public long getValue() {
+            return ~mCrc & 0xFFFFFFFFL;
+        }
+
+        @Override
+        public void reset() {
+            mCrc = 0xFFFFFFFF;
+        }
+    }
+
+    /*
+     *  ########## xxHash64相关 ##########
+     */
+
+    /**
+     * 新建xxHash64校验和
+     * <p>{@link Checksum#getValue()} 返回完整64位值, 不影响后续追加</p>
+     *
+     * @param seed 种子
+     * @return 校验和
+     */
+    public static Checksum newXXHash64(final long seed) {
+        return new XXHash64(seed);
+    }
+
+    /**
+     * xxHash64校验
+     *
+     * @param data 数据
+     * @return 校验和
+     */
+    public static String xxHash642String(final byte[] data) {
+        return xxHash642String(data, 0);
+    }
+
+    /**
+     * xxHash64校验
+     *
+     * @param data 数据
+     * @param seed 种子
+     * @return 校验和
+     */
+    public static String xxHash642String(final byte[] data, final long seed) {
+        return data == null ? null : toHexString(xxHash64(data, seed), 8);
+    }
+
+    /**
+     * xxHash64校验
+     *
+     * @param data 数据
+     * @return 校验和
+     */
+    public static long xxHash64(final byte[] data) {
+        return xxHash64(data, 0);
+    }
+
+    /**
+     * xxHash64校验
+     *
+     * @param data 数据
+     * @param seed 种子
+     * @return 校验和
+     */
+    public static long xxHash64(final byte[] data, final long seed) {
+        if (data == null) {
+            return -1;
+        }
+        return xxHash64(data, 0, data.length, seed);
+    }
+
+    /**
+     * xxHash64校验
+     *
+     * @param data   数据
+     * @param offset 偏移
+     * @param len    长度
+     * @param seed   种子
+     * @return 校验和
+     */
+    public static long xxHash64(final byte[] data, final int offset, final int len, final long seed) {
+        return checksum(data, offset, len, new XXHash64(seed));
+    }
+
+    /**
+     * xxHash64校验
+     * <p>处理 position 至 limit 间的数据, 不改变缓冲区位置</p>
+     *
+     * @param buffer 缓冲区
+     * @return 校验和
+     */
+    public static long xxHash64(final ByteBuffer buffer) {
+        return xxHash64(buffer, 0);
+    }
+
+    /**
+     * xxHash64校验
+     * <p>处理 position 至 limit 间的数据, 不改变缓冲区位置</p>
+     *
+     * @param buffer 缓冲区
+     * @param seed   种子
+     * @return 校验和
+     */
+    public static long xxHash64(final ByteBuffer buffer, final long seed) {
+        return checksum(buffer, new XXHash64(seed));
+    }
+
+    /**
+     * xxHash64文件校验
+     *
+     * @param filePath 文件路径
+     * @return 校验和
+     */
+    public static String xxHash64File2String(final String filePath) {
+        return xxHash64File2String(filePath, 0);
+    }
+
+    /**
+     * xxHash64文件校验
+     *
+     * @param filePath 文件路径
+     * @param seed     种子
+     * @return 校验和
+     */
+    public static String xxHash64File2String(final String filePath, final long seed) {
+        File file = TextUtils.isEmpty(filePath) ? null : new File(filePath);
+        return xxHash64File2String(file, seed);
+    }
+
+    /**
+     * xxHash64文件校验
+     *
+     * @param file 文件
+     * @return 校验和, 失败返回null
+     */
+    public static String xxHash64File2String(final File file) {
+        return xxHash64File2String(file, 0);
+    }
+
+    /**
+     * xxHash64文件校验
+     *
+     * @param file 文件
+     * @param seed 种子
+     * @return 校验和, 失败返回null
+     */
+    public static String xxHash64File2String(final File file, final long seed) {
+        Checksum checksum = new XXHash64(seed);
+        return updateFile(file, checksum) ? toHexString(checksum.getValue(), 8) : null;
+    }
+
+    /**
+     * xxHash64文件校验
+     * <p>-1亦为合法校验和, 需区分失败时使用 {@link #xxHash64File2String(File)}</p>
+     *
+     * @param file 文件
+     * @return 校验和, 失败返回-1
+     */
+    public static long xxHash64File(final File file) {
+        return xxHash64File(file, 0);
+    }
+
+    /**
+     * xxHash64文件校验
+     * <p>-1亦为合法校验和, 需区分失败时使用 {@link #xxHash64File2String(File, long)}</p>
+     *
+     * @param file 文件
+     * @param seed 种子
+     * @return 校验和, 失败返回-1
+     */
+    public static long xxHash64File(final File file, final long seed) {
+        Checksum checksum = new XXHash64(seed);
+        return updateFile(file, checksum) ? checksum.getValue() : -1;
+    }
+
+    /**
+     * xxHash64输入流校验
+     * <p>读取至流末尾, 不关闭流</p>
+     *
+     * @param is 输入流
+     * @return 校验和, 失败返回-1
+     */
+    public static long xxHash64Stream(final InputStream is) {
+        return xxHash64Stream(is, 0);
+    }
+
+    /**
+     * xxHash64输入流校验
+     * <p>读取至流末尾, 不关闭流</p>
+     *
+     * @param is   输入流
+     * @param seed 种子
+     * @return 校验和, 失败返回-1
+     */
+    public static long xxHash64Stream(final InputStream is, final long seed) {
+        Checksum checksum = new XXHash64(seed);
+        return updateStream(is, checksum) ? checksum.getValue() : -1;
+    }
+
+    private static final class XXHash64 implements Checksum {
+
+        private static final long P1 = 0x9E3779B185EBCA87L;
+        private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+        private static final long P3 = 0x165667B19E3779F9L;
+        private static final long P4 = 0x85EBCA77C2B2AE63L;
+        private static final long P5 = 0x27D4EB2F165667C5L;
+
+        private final long mSeed;
+        private final byte[] mMemory = new byte[32];
+        private int mMemorySize;
+        private long mTotal;
+        private long mV1;
+        private long mV2;
+        private long mV3;
+        private long mV4;
+
+        XXHash64(final long seed) {
+            mSeed = seed;
+            reset();
+        }
+
+        @Override
+        public void update(final int b) {
+            update(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void update(final byte[] b, final int off, final int len) {
+            mTotal += len;
+            int i = off;
+            int end = off + len;
+            if (mMemorySize + len < 32) {
+                System.arraycopy(b, off, mMemory, mMemorySize, len);
+                mMemorySize += len;
+                return;
+            }
+            if (mMemorySize > 0) {
+                int n = 32 - mMemorySize;
+                System.arraycopy(b, off, mMemory, mMemorySize, n);
+                mV1 = round(mV1, getLong(mMemory, 0));
+                mV2 = round(mV2, getLong(mMemory, 8));
+                mV3 = round(mV3, getLong(mMemory, 16));
+                mV4 = round(mV4, getLong(mMemory, 24));
+                i += n;
+                mMemorySize = 0;
+            }
+            long v1 = mV1;
+            long v2 = mV2;
+            long v3 = mV3;
+            long v4 = mV4;
+            for (; i <= end - 32; i += 32) {
+                v1 = round(v1, getLong(b, i));
+                v2 = round(v2, getLong(b, i + 8));
+                v3 = round(v3, getLong(b, i + 16));
+                v4 = round(v4, getLong(b, i + 24));
+            }
+            mV1 = v1;
+            mV2 = v2;
+            mV3 = v3;
+            mV4 = v4;
+            mMemorySize = end - i;
+            System.arraycopy(b, i, mMemory, 0, mMemorySize);
+        }
+
+        @Override
+        public long getValue() {
+            long h;
+            if (mTotal >= 32) {
+                h = Long.rotateLeft(mV1, 1) + Long.rotateLeft(mV2, 7)
+                        + Long.rotateLeft(mV3, 12) + Long.rotateLeft(mV4, 18);
+                h = mergeRound(h, mV1);
+                h = mergeRound(h, mV2);
+                h = mergeRound(h, mV3);
+                h = mergeRound(h, mV4);
+            } else {
+                h = mSeed + P5;
+            }
+            h += mTotal;
+            int i = 0;
+            for (; i <= mMemorySize - 8; i += 8) {
+                h ^= round(0, getLong(mMemory, i));
+                h = Long.rotateLeft(h, 27) * P1 + P4;
+            }
+            if (i <= mMemorySize - 4) {
+                h ^= (getInt(mMemory, i) & 0xFFFFFFFFL) * P1;
+                h = Long.rotateLeft(h, 23) * P2 + P3;
+                i += 4;
+            }
+            for (; i < mMemorySize; i++) {
+                h ^= (mMemory[i] & 0xFF) * P5;
+                h = Long.rotateLeft(h, 11) * P1;
+            }
+            h ^= h >>> 33;
+            h *= P2;
+            h ^= h >>> 29;
+            h *= P3;
+            h ^= h >>> 32;
+            return h;
+        }
+
+        @Override
+        public void reset() {
+            mV1 = mSeed + P1 + P2;
+            mV2 = mSeed + P2;
+            mV3 = mSeed;
+            mV4 = mSeed - P1;
+            mTotal = 0;
+            mMemorySize = 0;
+        }
+
+        private static long round(final long acc, final long input) {
+            return Long.rotateLeft(acc + input * P2, 31) * P1;
+        }
+
+        private static long mergeRound(final long acc, final long val) {
+            return (acc ^ round(0, val)) * P1 + P4;
+        }
+
+        private static long getLong(final byte[] b, final int i) {
+            return (getInt(b, i) & 0xFFFFFFFFL) | (long) getInt(b, i + 4) << 32;
+        }
+
+        private static int getInt(final byte[] b, final int i) {
+            return (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16 | b[i + 3] << 24;
+        }
+    }
+
+    /*
+     *  ########## 相关方法 ##########
+     */
+
+    private static long checksum(final byte[] data, final int offset, final int len, final Checksum checksum) {
+        if (data == null || offset < 0 || len < 0 || offset > data.length - len) {
+            return -1;
+        }
+        checksum.update(data, offset, len);
+        return checksum.getValue();
+    }
+
+    private static long checksum(final ByteBuffer buffer, final Checksum checksum) {
+        if (buffer == null) {
+            return -1;
+        }
+        if (buffer.hasArray()) {
+            checksum.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            return checksum.getValue();
+        }
+        ByteBuffer src = buffer.duplicate();
+        byte[] bytes = BUFFER.get();
+        while (src.hasRemaining()) {
+            int len = Math.min(bytes.length, src.remaining());
+            src.get(bytes, 0, len);
+            checksum.update(bytes, 0, len);
+        }
+        return checksum.getValue();
+    }
+
+    private static boolean updateFile(final File file, final Checksum checksum) {
+        if (file == null) {
+            return false;
+        }
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(file);
+            return updateStream(fis, checksum);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            CloseUtils.closeQuietly(fis);
+        }
+    }
+
+    private static boolean updateStream(final InputStream is, final Checksum checksum) {
+        if (is == null) {
+            return false;
+        }
+        byte[] buffer = BUFFER.get();
+        try {
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                checksum.update(buffer, 0, len);
+            }
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static String toHexString(final long value, final int byteCount) {
+        byte[] bytes = new byte[byteCount];
+        for (int i = 0; i < byteCount; i++) {
+            bytes[i] = (byte) (value >>> ((byteCount - 1 - i) << 3));
+        }
+        return EncodeUtils.hexEncode(bytes);
+    }
+}
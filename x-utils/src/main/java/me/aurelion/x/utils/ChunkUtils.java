@@ -0,0 +1,554 @@
+package me.aurelion.x.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * X-Utils 内容分块相关
+ * <p>基于Gear滚动哈希的FastCDC内容定义分块: 块边界由内容决定,
+ * 文件中部插入或删除少量字节只影响附近的块, 其余块摘要保持不变</p>
+ *
+ * @author Leon (wshk729@163.com)
+ * @date 2026/10/18
+ */
+public class ChunkUtils {
+
+    /**
+     * 默认最小块
+     */
+    public static final int MIN_SIZE = 16 * 1024;
+    /**
+     * 默认平均块
+     */
+    public static final int AVG_SIZE = 64 * 1024;
+    /**
+     * 默认最大块
+     */
+    public static final int MAX_SIZE = 256 * 1024;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String STORE_DIR = "x_chunks";
+    private static final int READ_SIZE = 1024 * 1024;
+
+    /**
+     * Gear表, 由固定种子的SplitMix64生成; 改变将导致全部块边界变化
+     */
+    private static final long[] GEAR = new long[256];
+
+    static {
+        long seed = 0x5851F42D4C957F2DL;
+        for (int i = 0; i < GEAR.length; i++) {
+            long z = (seed += 0x9E3779B97F4A7C15L);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            GEAR[i] = z ^ (z >>> 31);
+        }
+    }
+
+    private ChunkUtils() {
+        throw new UnsupportedOperationException("No instantiate " + getClass().getSimpleName());
+    }
+
+    /*
+     *  ########## 分块相关 ##########
+     */
+
+    /**
+     * 数据分块
+     *
+     * @param data 数据
+     * @return 块列表
+     */
+    public static List<Chunk> chunk(final byte[] data) {
+        return chunk(data, MIN_SIZE, AVG_SIZE, MAX_SIZE);
+    }
+
+    /**
+     * 数据分块
+     *
+     * @param data    数据
+     * @param minSize 最小块
+     * @param avgSize 平均块, 须为2的幂
+     * @param maxSize 最大块
+     * @return 块列表
+     */
+    public static List<Chunk> chunk(final byte[] data,
+                                    final int minSize,
+                                    final int avgSize,
+                                    final int maxSize) {
+        if (data == null || !isValidSize(minSize, avgSize, maxSize)) {
+            return null;
+        }
+        List<Chunk> ret = new ArrayList<>();
+        int offset = 0;
+        while (offset < data.length) {
+            int len = cut(data, offset, data.length - offset, minSize, avgSize, maxSize);
+            ret.add(new Chunk(offset, len, EncryptUtils.hash(data, offset, len, DIGEST_ALGORITHM)));
+            offset += len;
+        }
+        return ret;
+    }
+
+    /**
+     * 文件分块
+     *
+     * @param file 文件
+     * @return 块列表, 失败返回null
+     */
+    public static List<Chunk> chunkFile(final File file) {
+        return chunkFile(file, MIN_SIZE, AVG_SIZE, MAX_SIZE);
+    }
+
+    /**
+     * 文件分块
+     *
+     * @param file    文件
+     * @param minSize 最小块
+     * @param avgSize 平均块, 须为2的幂
+     * @param maxSize 最大块
+     * @return 块列表, 失败返回null
+     */
+    public static List<Chunk> chunkFile(final File file,
+                                        final int minSize,
+                                        final int avgSize,
+                                        final int maxSize) {
+        if (file == null || !file.isFile() || !isValidSize(minSize, avgSize, maxSize)) {
+            return null;
+        }
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(file);
+            return chunkStream(fis, minSize, avgSize, maxSize, null);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            CloseUtils.closeQuietly(fis);
+        }
+    }
+
+    /**
+     * 比较两次分块结果
+     *
+     * @param oldChunks 旧块列表
+     * @param newChunks 新块列表
+     * @return 新块列表中内容发生变化的块, 即需要重新传输的区域
+     */
+    public static List<Chunk> diff(final List<Chunk> oldChunks, final List<Chunk> newChunks) {
+        if (newChunks == null) {
+            return Collections.emptyList();
+        }
+        Set<Chunk> old = oldChunks == null ? Collections.<Chunk>emptySet() : new HashSet<>(oldChunks);
+        List<Chunk> ret = new ArrayList<>();
+        for (Chunk chunk : newChunks) {
+            if (!old.contains(chunk)) {
+                ret.add(chunk);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * 块
+     * <p>以摘要判等, 位置不同而内容相同的块视为同一块</p>
+     */
+    public static final class Chunk {
+
+        private final long offset;
+        private final int length;
+        private final byte[] digest;
+
+        Chunk(final long offset, final int length, final byte[] digest) {
+            this.offset = offset;
+            this.length = length;
+            this.digest = digest;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        public byte[] getDigest() {
+            return digest.clone();
+        }
+
+        public String getDigestString() {
+            return EncodeUtils.hexEncode(digest, false);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return this == o || o instanceof Chunk && Arrays.equals(digest, ((Chunk) o).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(digest);
+        }
+
+        @Override
+        public String toString() {
+            return "Chunk{offset=" + offset + ", length=" + length + ", digest=" + getDigestString() + "}";
+        }
+    }
+
+    /*
+     *  ########## 块存储相关 ##########
+     */
+
+    /**
+     * 获取 filesDir 下的默认块存储
+     *
+     * @return 块存储
+     */
+    public static ChunkStore getStore() {
+        return new ChunkStore(new File(Utils.getApp().getFilesDir(), STORE_DIR));
+    }
+
+    /**
+     * 获取块存储
+     *
+     * @param dir 存储目录
+     * @return 块存储
+     */
+    public static ChunkStore getStore(final File dir) {
+        return new ChunkStore(dir);
+    }
+
+    /**
+     * 内容寻址块存储
+     * <p>块以其SHA-256摘要命名, 相同内容只保存一份</p>
+     */
+    public static final class ChunkStore {
+
+        private final File mDir;
+
+        ChunkStore(final File dir) {
+            mDir = dir;
+        }
+
+        public File getDir() {
+            return mDir;
+        }
+
+        /**
+         * 分块并保存文件, 已存在的块跳过写入
+         *
+         * @param file 文件
+         * @return 块列表, 可用于 {@link #restore(List, File)}; 失败返回null
+         */
+        public List<Chunk> put(final File file) {
+            if (file == null || !file.isFile()) {
+                return null;
+            }
+            FileInputStream fis = null;
+            try {
+                fis = new FileInputStream(file);
+                return chunkStream(fis, MIN_SIZE, AVG_SIZE, MAX_SIZE, this);
+            } catch (IOException e) {
+                e.printStackTrace();
+                return null;
+            } finally {
+                CloseUtils.closeQuietly(fis);
+            }
+        }
+
+        /**
+         * 是否已保存该块
+         */
+        public boolean contains(final Chunk chunk) {
+            return chunk != null && getFile(chunk.digest).isFile();
+        }
+
+        /**
+         * 获取尚未保存的块
+         *
+         * @param chunks 块列表
+         * @return 缺失的块
+         */
+        public List<Chunk> getMissing(final List<Chunk> chunks) {
+            List<Chunk> ret = new ArrayList<>();
+            if (chunks == null) {
+                return ret;
+            }
+            Set<Chunk> checked = new HashSet<>();
+            for (Chunk chunk : chunks) {
+                if (checked.add(chunk) && !contains(chunk)) {
+                    ret.add(chunk);
+                }
+            }
+            return ret;
+        }
+
+        /**
+         * 读取块内容, 并校验摘要
+         *
+         * @param chunk 块
+         * @return 块内容, 不存在或已损坏返回null
+         */
+        public byte[] get(final Chunk chunk) {
+            if (chunk == null) {
+                return null;
+            }
+            File file = getFile(chunk.digest);
+            if (!file.isFile() || file.length() != chunk.length) {
+                return null;
+            }
+            FileInputStream fis = null;
+            try {
+                fis = new FileInputStream(file);
+                byte[] ret = new byte[chunk.length];
+                int offset = 0;
+                while (offset < ret.length) {
+                    int len = fis.read(ret, offset, ret.length - offset);
+                    if (len == -1) {
+                        return null;
+                    }
+                    offset += len;
+                }
+                if (!Arrays.equals(chunk.digest, EncryptUtils.hash(ret, 0, ret.length, DIGEST_ALGORITHM))) {
+                    return null;
+                }
+                return ret;
+            } catch (IOException e) {
+                e.printStackTrace();
+                return null;
+            } finally {
+                CloseUtils.closeQuietly(fis);
+            }
+        }
+
+        /**
+         * 按块列表还原文件
+         *
+         * @param chunks 块列表
+         * @param dest   目标文件
+         * @return true:成功/false:失败
+         */
+        public boolean restore(final List<Chunk> chunks, final File dest) {
+            if (chunks == null || dest == null) {
+                return false;
+            }
+            FileOutputStream fos = null;
+            boolean ret = false;
+            try {
+                fos = new FileOutputStream(dest);
+                for (Chunk chunk : chunks) {
+                    byte[] data = get(chunk);
+                    if (data == null) {
+                        return false;
+                    }
+                    fos.write(data);
+                }
+                ret = true;
+                return true;
+            } catch (IOException e) {
+                e.printStackTrace();
+                return false;
+            } finally {
+                CloseUtils.closeQuietly(fos);
+                if (!ret) {
+                    //noinspection ResultOfMethodCallIgnored
+                    dest.delete();
+                }
+            }
+        }
+
+        /**
+         * 仅保留被引用的块, 删除其余块
+         *
+         * @param recipes 仍在使用的块列表
+         * @return 删除的块数
+         */
+        public int retain(final Collection<? extends List<Chunk>> recipes) {
+            Set<String> live = new HashSet<>();
+            if (recipes != null) {
+                for (List<Chunk> chunks : recipes) {
+                    for (Chunk chunk : chunks) {
+                        live.add(chunk.getDigestString());
+                    }
+                }
+            }
+            int ret = 0;
+            File[] dirs = mDir.listFiles();
+            if (dirs == null) {
+                return 0;
+            }
+            for (File dir : dirs) {
+                File[] files = dir.listFiles();
+                if (files == null) {
+                    continue;
+                }
+                for (File file : files) {
+                    if (!live.contains(file.getName()) && file.delete()) {
+                        ret++;
+                    }
+                }
+            }
+            return ret;
+        }
+
+        /**
+         * 获取已保存块的总字节数
+         */
+        public long getSize() {
+            long ret = 0;
+            File[] dirs = mDir.listFiles();
+            if (dirs == null) {
+                return 0;
+            }
+            for (File dir : dirs) {
+                File[] files = dir.listFiles();
+                if (files == null) {
+                    continue;
+                }
+                for (File file : files) {
+                    ret += file.length();
+                }
+            }
+            return ret;
+        }
+
+        private File getFile(final byte[] digest) {
+            String name = EncodeUtils.hexEncode(digest, false);
+            return new File(new File(mDir, name.substring(0, 2)), name);
+        }
+
+        private void write(final byte[] data, final int offset, final Chunk chunk) throws IOException {
+            File file = getFile(chunk.digest);
+            if (file.isFile() && file.length() == chunk.length) {
+                return;
+            }
+            File dir = file.getParentFile();
+            if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+                throw new IOException("Cannot create " + dir);
+            }
+            // 先写临时文件再重命名, 中途失败不会留下不完整的块;
+            // 临时文件名唯一, 并发保存相同内容时互不截断
+            File temp = File.createTempFile(file.getName(), ".tmp", dir);
+            FileOutputStream fos = null;
+            boolean isWritten = false;
+            try {
+                fos = new FileOutputStream(temp);
+                fos.write(data, offset, chunk.length);
+                isWritten = true;
+            } finally {
+                CloseUtils.closeQuietly(fos);
+                if (!isWritten) {
+                    //noinspection ResultOfMethodCallIgnored
+                    temp.delete();
+                }
+            }
+            if (!temp.renameTo(file)) {
+                //noinspection ResultOfMethodCallIgnored
+                temp.delete();
+                // 并发保存时另一方已写入相同内容
+                if (file.isFile() && file.length() == chunk.length) {
+                    return;
+                }
+                throw new IOException("Cannot rename " + temp);
+            }
+        }
+    }
+
+    /*
+     *  ########## 相关方法 ##########
+     */
+
+    private static boolean isValidSize(final int minSize, final int avgSize, final int maxSize) {
+        return minSize > 0 && minSize <= avgSize && avgSize <= maxSize
+                && Integer.bitCount(avgSize) == 1 && avgSize >= 64;
+    }
+
+    private static List<Chunk> chunkStream(final InputStream is,
+                                           final int minSize,
+                                           final int avgSize,
+                                           final int maxSize,
+                                           final ChunkStore store) throws IOException {
+        List<Chunk> ret = new ArrayList<>();
+        byte[] buffer = new byte[Math.max(READ_SIZE, maxSize) + maxSize];
+        int start = 0;
+        int end = 0;
+        long offset = 0;
+        boolean isEOF = false;
+        while (true) {
+            // 不足一个最大块时补齐缓冲区
+            if (!isEOF && end - start < maxSize) {
+                System.arraycopy(buffer, start, buffer, 0, end - start);
+                end -= start;
+                start = 0;
+                while (end < buffer.length) {
+                    int len = is.read(buffer, end, buffer.length - end);
+                    if (len == -1) {
+                        isEOF = true;
+                        break;
+                    }
+                    end += len;
+                }
+            }
+            if (start == end) {
+                break;
+            }
+            int len = cut(buffer, start, end - start, minSize, avgSize, maxSize);
+            Chunk chunk = new Chunk(offset, len, EncryptUtils.hash(buffer, start, len, DIGEST_ALGORITHM));
+            if (store != null) {
+                store.write(buffer, start, chunk);
+            }
+            ret.add(chunk);
+            start += len;
+            offset += len;
+        }
+        return ret;
+    }
+
+    /**
+     * FastCDC归一化分块: 平均块前使用更严格的掩码, 之后使用更宽松的掩码, 使块长集中于平均值附近
+     * <p>取指纹高位判断边界, 使边界取决于最近64字节</p>
+     *
+     * @return 块长度
+     */
+    private static int cut(final byte[] data,
+                           final int offset,
+                           final int len,
+                           final int minSize,
+                           final int avgSize,
+                           final int maxSize) {
+        if (len <= minSize) {
+            return len;
+        }
+        int n = Math.min(len, maxSize);
+        int normal = Math.min(n, avgSize);
+        int bits = Integer.numberOfTrailingZeros(avgSize);
+        long maskS = -1L << (64 - (bits + 2));
+        long maskL = -1L << (64 - (bits - 2));
+        long fp = 0;
+        int i = minSize;
+        for (; i < normal; i++) {
+            fp = (fp << 1) + GEAR[data[offset + i] & 0xFF];
+            if ((fp & maskS) == 0) {
+                return i + 1;
+            }
+        }
+        for (; i < n; i++) {
+            fp = (fp << 1) + GEAR[data[offset + i] & 0xFF];
+            if ((fp & maskL) == 0) {
+                return i + 1;
+            }
+        }
+        return n;
+    }
+}
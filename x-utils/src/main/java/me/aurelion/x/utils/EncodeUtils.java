@@ -3,10 +3,25 @@ package me.aurelion.x.utils;
 import android.os.Build;
 import android.text.Html;
 import android.util.Base64;
+import android.util.Base64InputStream;
+import android.util.Base64OutputStream;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 
 /**
  * X-Utils 编译相关
@@ -104,7 +119,7 @@ public class EncodeUtils {
         if (content == null || content.length == 0) {
             return new byte[0];
         }
-        return Base64.encode(content, Base64.NO_WRAP);
+        return Base64Utils.encode(content, Base64Utils.NO_WRAP);
     }
 
     /**
@@ -117,7 +132,7 @@ public class EncodeUtils {
         if (content == null || content.length == 0) {
             return "";
         }
-        return Base64.encodeToString(content, Base64.NO_WRAP);
+        return Base64Utils.encodeToString(content, Base64Utils.NO_WRAP);
     }
 
     /**
@@ -130,7 +145,7 @@ public class EncodeUtils {
         if (content == null || content.length() == 0) {
             return new byte[0];
         }
-        return Base64.decode(content, Base64.NO_WRAP);
+        return Base64Utils.decode(content, Base64Utils.NO_WRAP);
     }
 
     /**
@@ -143,7 +158,456 @@ public class EncodeUtils {
         if (content == null || content.length == 0) {
             return new byte[0];
         }
-        return Base64.decode(content, Base64.NO_WRAP);
+        return Base64Utils.decode(content, Base64Utils.NO_WRAP);
+    }
+
+    /**
+     * Base64流式编译
+     * <p>读取至输入流末尾, 不关闭流, 仅占用固定大小的缓冲区</p>
+     * <p>flags: {@link Base64#NO_WRAP} 标准, {@link Base64#URL_SAFE} URL安全,
+     * {@link Base64#DEFAULT} 每76字符换行, 附加 {@link Base64#CRLF} 即为MIME格式</p>
+     *
+     * @param is    输入流
+     * @param os    输出流
+     * @param flags {@link Base64} 标志位
+     * @return true:成功/false:失败
+     */
+    public static boolean base64Encode(final InputStream is, final OutputStream os, final int flags) {
+        if (is == null || os == null) {
+            return false;
+        }
+        return base64Template(is, new Base64OutputStream(os, flags | Base64.NO_CLOSE, true));
+    }
+
+    /**
+     * Base64流式解译
+     * <p>读取至输入流末尾, 不关闭流, 仅占用固定大小的缓冲区; 换行等非Base64字符将被跳过</p>
+     *
+     * @param is    输入流
+     * @param os    输出流
+     * @param flags {@link Base64} 标志位, URL安全格式须指定 {@link Base64#URL_SAFE}
+     * @return true:成功/false:失败
+     */
+    public static boolean base64Decode(final InputStream is, final OutputStream os, final int flags) {
+        if (is == null || os == null) {
+            return false;
+        }
+        return base64Template(is, new Base64OutputStream(os, flags | Base64.NO_CLOSE, false));
+    }
+
+    /**
+     * Base64流式编译
+     * <p>读取至输入流末尾, 不关闭流</p>
+     *
+     * @param is     输入流
+     * @param writer 输出
+     * @param flags  {@link Base64} 标志位
+     * @return true:成功/false:失败
+     */
+    public static boolean base64Encode(final InputStream is, final Writer writer, final int flags) {
+        if (is == null || writer == null) {
+            return false;
+        }
+        InputStream in = new Base64InputStream(is, flags, true);
+        byte[] bytes = new byte[BASE64_STREAM_BUFFER_SIZE];
+        char[] chars = new char[BASE64_STREAM_BUFFER_SIZE];
+        try {
+            int len;
+            while ((len = in.read(bytes)) != -1) {
+                for (int i = 0; i < len; i++) {
+                    chars[i] = (char) bytes[i];
+                }
+                writer.write(chars, 0, len);
+            }
+            writer.flush();
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Base64流式解译
+     * <p>读取至末尾, 不关闭流</p>
+     *
+     * @param reader 输入
+     * @param os     输出流
+     * @param flags  {@link Base64} 标志位
+     * @return true:成功/false:失败
+     */
+    public static boolean base64Decode(final Reader reader, final OutputStream os, final int flags) {
+        if (reader == null || os == null) {
+            return false;
+        }
+        OutputStream out = new Base64OutputStream(os, flags | Base64.NO_CLOSE, false);
+        char[] chars = new char[BASE64_STREAM_BUFFER_SIZE];
+        byte[] bytes = new byte[BASE64_STREAM_BUFFER_SIZE];
+        try {
+            int len;
+            while ((len = reader.read(chars)) != -1) {
+                for (int i = 0; i < len; i++) {
+                    // 非ASCII字符映射为非法字节, 与其他非Base64字符一样被跳过
+                    char c = chars[i];
+                    bytes[i] = c < 128 ? (byte) c : (byte) 0xFF;
+                }
+                out.write(bytes, 0, len);
+            }
+            out.close();
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Base64流式编译
+     * <p>读取至通道末尾, 不关闭通道</p>
+     *
+     * @param src   输入通道
+     * @param dest  输出通道
+     * @param flags {@link Base64} 标志位
+     * @return true:成功/false:失败
+     */
+    public static boolean base64Encode(final ReadableByteChannel src,
+                                       final WritableByteChannel dest,
+                                       final int flags) {
+        if (src == null || dest == null) {
+            return false;
+        }
+        return base64Encode(Channels.newInputStream(src), Channels.newOutputStream(dest), flags);
+    }
+
+    /**
+     * Base64流式解译
+     * <p>读取至通道末尾, 不关闭通道</p>
+     *
+     * @param src   输入通道
+     * @param dest  输出通道
+     * @param flags {@link Base64} 标志位
+     * @return true:成功/false:失败
+     */
+    public static boolean base64Decode(final ReadableByteChannel src,
+                                       final WritableByteChannel dest,
+                                       final int flags) {
+        if (src == null || dest == null) {
+            return false;
+        }
+        return base64Decode(Channels.newInputStream(src), Channels.newOutputStream(dest), flags);
+    }
+
+    /**
+     * Base64编译文件
+     *
+     * @param src   源文件
+     * @param dest  目标文件
+     * @param flags {@link Base64} 标志位
+     * @return true:成功/false:失败
+     */
+    public static boolean base64EncodeFile(final File src, final File dest, final int flags) {
+        return base64FileTemplate(src, dest, flags, true);
+    }
+
+    /**
+     * Base64解译文件
+     *
+     * @param src   源文件
+     * @param dest  目标文件
+     * @param flags {@link Base64} 标志位
+     * @return true:成功/false:失败
+     */
+    public static boolean base64DecodeFile(final File src, final File dest, final int flags) {
+        return base64FileTemplate(src, dest, flags, false);
+    }
+
+    private static final int BASE64_STREAM_BUFFER_SIZE = 8 * 1024;
+
+    private static boolean base64Template(final InputStream is, final OutputStream os) {
+        byte[] buffer = new byte[BASE64_STREAM_BUFFER_SIZE];
+        try {
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                os.write(buffer, 0, len);
+            }
+            // 写出末尾不足一组的数据, NO_CLOSE时不关闭被包装的流
+            os.close();
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static boolean base64FileTemplate(final File src,
+                                              final File dest,
+                                              final int flags,
+                                              final boolean isEncode) {
+        if (src == null || dest == null) {
+            return false;
+        }
+        FileInputStream fis = null;
+        FileOutputStream fos = null;
+        boolean ret = false;
+        try {
+            fis = new FileInputStream(src);
+            fos = new FileOutputStream(dest);
+            ret = isEncode ? base64Encode(fis, fos, flags) : base64Decode(fis, fos, flags);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            CloseUtils.closeQuietly(fis, fos);
+            if (!ret) {
+                //noinspection ResultOfMethodCallIgnored
+                dest.delete();
+            }
+        }
+        return ret;
+    }
+
+    /*
+     *  ########## Hex相关 ##########
+     */
+
+    private static final char[] HEX_ENCODE_UPPER = new char[512];
+    private static final char[] HEX_ENCODE_LOWER = new char[512];
+    private static final byte[] HEX_DECODE = new byte[128];
+
+    static {
+        String upper = "0123456789ABCDEF";
+        String lower = "0123456789abcdef";
+        for (int i = 0; i < 256; i++) {
+            HEX_ENCODE_UPPER[i << 1] = upper.charAt(i >>> 4);
+            HEX_ENCODE_UPPER[(i << 1) + 1] = upper.charAt(i & 0x0F);
+            HEX_ENCODE_LOWER[i << 1] = lower.charAt(i >>> 4);
+            HEX_ENCODE_LOWER[(i << 1) + 1] = lower.charAt(i & 0x0F);
+        }
+        Arrays.fill(HEX_DECODE, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX_DECODE[upper.charAt(i)] = (byte) i;
+            HEX_DECODE[lower.charAt(i)] = (byte) i;
+        }
+    }
+
+    /**
+     * Hex编译 (大写)
+     *
+     * @param content 内容
+     * @return 编译内容
+     */
+    public static String hexEncode(final byte[] content) {
+        return hexEncode(content, true);
+    }
+
+    /**
+     * Hex编译
+     *
+     * @param content     内容
+     * @param isUpperCase 是否大写
+     * @return 编译内容
+     */
+    public static String hexEncode(final byte[] content, final boolean isUpperCase) {
+        if (content == null || content.length == 0) {
+            return "";
+        }
+        char[] ret = new char[content.length << 1];
+        hexEncode(content, 0, content.length, ret, 0, isUpperCase);
+        return new String(ret);
+    }
+
+    /**
+     * Hex编译
+     * <p>写入调用方数组, 需预留 len * 2 个字符</p>
+     *
+     * @param content     内容
+     * @param offset      起始位置
+     * @param len         长度
+     * @param dest        输出数组
+     * @param destOffset  输出起始位置
+     * @param isUpperCase 是否大写
+     * @return 写入字符数, 参数错误或输出空间不足返回-1
+     */
+    public static int hexEncode(final byte[] content,
+                                final int offset,
+                                final int len,
+                                final char[] dest,
+                                final int destOffset,
+                                final boolean isUpperCase) {
+        if (content == null || dest == null || isOutOfBounds(content.length, offset, len)
+                || isOutOfBounds(dest.length, destOffset, (long) len << 1)) {
+            return -1;
+        }
+        char[] table = isUpperCase ? HEX_ENCODE_UPPER : HEX_ENCODE_LOWER;
+        for (int i = offset, j = destOffset, end = offset + len; i < end; i++) {
+            int index = (content[i] & 0xFF) << 1;
+            dest[j++] = table[index];
+            dest[j++] = table[index + 1];
+        }
+        return len << 1;
+    }
+
+    /**
+     * Hex编译
+     * <p>追加至调用方Appendable, 如StringBuilder</p>
+     *
+     * @param content     内容
+     * @param offset      起始位置
+     * @param len         长度
+     * @param dest        输出
+     * @param isUpperCase 是否大写
+     * @return true:成功/false:失败
+     */
+    public static boolean hexEncode(final byte[] content,
+                                    final int offset,
+                                    final int len,
+                                    final Appendable dest,
+                                    final boolean isUpperCase) {
+        if (content == null || dest == null || isOutOfBounds(content.length, offset, len)) {
+            return false;
+        }
+        char[] table = isUpperCase ? HEX_ENCODE_UPPER : HEX_ENCODE_LOWER;
+        try {
+            for (int i = offset, end = offset + len; i < end; i++) {
+                int index = (content[i] & 0xFF) << 1;
+                dest.append(table[index]).append(table[index + 1]);
+            }
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Hex流式编译
+     * <p>读取至输入流末尾, 不关闭流</p>
+     *
+     * @param is          输入流
+     * @param writer      输出
+     * @param isUpperCase 是否大写
+     * @return true:成功/false:失败
+     */
+    public static boolean hexEncode(final InputStream is,
+                                    final Writer writer,
+                                    final boolean isUpperCase) {
+        if (is == null || writer == null) {
+            return false;
+        }
+        byte[] in = new byte[HEX_STREAM_BUFFER_SIZE];
+        char[] out = new char[HEX_STREAM_BUFFER_SIZE << 1];
+        try {
+            int len;
+            while ((len = is.read(in)) != -1) {
+                writer.write(out, 0, hexEncode(in, 0, len, out, 0, isUpperCase));
+            }
+            writer.flush();
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Hex解译
+     * <p>大小写均可, 奇数长度时首位视为低4位</p>
+     *
+     * @param content 内容
+     * @return 解译内容
+     * @throws IllegalArgumentException 含非Hex字符
+     */
+    public static byte[] hexDecode(final CharSequence content) {
+        if (content == null || content.length() == 0) {
+            return new byte[0];
+        }
+        byte[] ret = new byte[(content.length() + 1) >> 1];
+        hexDecode(content, 0, content.length(), ret, 0);
+        return ret;
+    }
+
+    /**
+     * Hex解译
+     * <p>解译content的[start, end)区间并写入调用方数组, 奇数长度时首位视为低4位</p>
+     *
+     * @param content    内容
+     * @param start      起始位置
+     * @param end        结束位置
+     * @param dest       输出数组
+     * @param destOffset 输出起始位置
+     * @return 写入字节数, 参数错误或输出空间不足返回-1
+     * @throws IllegalArgumentException 含非Hex字符
+     */
+    public static int hexDecode(final CharSequence content,
+                                final int start,
+                                final int end,
+                                final byte[] dest,
+                                final int destOffset) {
+        if (content == null || dest == null || start < 0 || end < start || end > content.length()
+                || isOutOfBounds(dest.length, destOffset, (end - start + 1) >> 1)) {
+            return -1;
+        }
+        int i = start;
+        int j = destOffset;
+        if (((end - start) & 1) != 0) {
+            dest[j++] = (byte) hex2Dec(content.charAt(i++));
+        }
+        while (i < end) {
+            dest[j++] = (byte) (hex2Dec(content.charAt(i)) << 4 | hex2Dec(content.charAt(i + 1)));
+            i += 2;
+        }
+        return j - destOffset;
+    }
+
+    /**
+     * Hex流式解译
+     * <p>读取至末尾, 不关闭流, 总长度须为偶数</p>
+     *
+     * @param reader 输入
+     * @param os     输出流
+     * @return true:成功/false:失败
+     */
+    public static boolean hexDecode(final Reader reader, final OutputStream os) {
+        if (reader == null || os == null) {
+            return false;
+        }
+        char[] in = new char[HEX_STREAM_BUFFER_SIZE << 1];
+        byte[] out = new byte[HEX_STREAM_BUFFER_SIZE];
+        CharBuffer chars = CharBuffer.wrap(in);
+        try {
+            int pending = 0;
+            int len;
+            while ((len = reader.read(in, pending, in.length - pending)) != -1) {
+                int total = pending + len;
+                int even = total & ~1;
+                os.write(out, 0, hexDecode(chars, 0, even, out, 0));
+                pending = total - even;
+                if (pending != 0) {
+                    in[0] = in[even];
+                }
+            }
+            if (pending != 0) {
+                throw new IllegalArgumentException("Odd hex length");
+            }
+            os.flush();
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static final int HEX_STREAM_BUFFER_SIZE = 8 * 1024;
+
+    private static boolean isOutOfBounds(final int length, final int offset, final long len) {
+        return offset < 0 || len < 0 || offset > length - len;
+    }
+
+    private static int hex2Dec(final char hexChar) {
+        int ret = hexChar < 128 ? HEX_DECODE[hexChar] : -1;
+        if (ret < 0) {
+            throw new IllegalArgumentException("Illegal hex char: " + hexChar);
+        }
+        return ret;
     }
 
     /*
@@ -205,4 +669,19 @@ public class EncodeUtils {
         }
     }
 
+    /*
+     *  ########## 预热相关 ##########
+     */
+
+    /**
+     * 预热Base64及Hex编解码, 须于子线程调用
+     */
+    static void warmUp() {
+        byte[] data = new byte[4 * 1024];
+        for (int i = 0; i < 64; i++) {
+            base64Decode(base64Encode(data));
+            hexDecode(hexEncode(data));
+        }
+    }
+
 }
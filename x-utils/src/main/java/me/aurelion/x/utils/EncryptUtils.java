@@ -1,25 +1,90 @@
 package me.aurelion.x.utils;
 
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.Uri;
+import android.os.BatteryManager;
+import android.os.Build;
+import android.os.PowerManager;
+import android.os.Process;
+import android.support.annotation.RequiresApi;
+import android.support.annotation.VisibleForTesting;
 import android.text.TextUtils;
-import android.util.Base64;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.security.AlgorithmParameters;
 import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.security.Signature;
+import java.security.interfaces.RSAKey;
 import java.security.spec.InvalidKeySpecException;
+import java.security.spec.MGF1ParameterSpec;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PSource;
 import javax.crypto.spec.SecretKeySpec;
 
 /**
@@ -98,10 +163,7 @@ public class EncryptUtils {
         if (data == null) {
             return bytes2HexString(encryptMD5(salt));
         }
-        byte[] dataSalt = new byte[data.length + salt.length];
-        System.arraycopy(data, 0, dataSalt, 0, data.length);
-        System.arraycopy(salt, 0, dataSalt, data.length, salt.length);
-        return bytes2HexString(encryptMD5(dataSalt));
+        return bytes2HexString(hashParts("MD5", data, salt));
     }
 
     /**
@@ -114,18 +176,33 @@ public class EncryptUtils {
         return hashTemplate(data, "MD5");
     }
 
+    /**
+     * MD5加密
+     *
+     * @param data   数据
+     * @param offset 起始位置
+     * @param len    长度
+     * @return 密文
+     */
+    public static byte[] encryptMD5(final byte[] data, final int offset, final int len) {
+        return hash(data, offset, len, "MD5");
+    }
+
+    /**
+     * MD5加密
+     *
+     * @param data 数据, 读取position至limit
+     * @return 密文
+     */
+    public static byte[] encryptMD5(final ByteBuffer data) {
+        return hash(data, "MD5");
+    }
+
     private static byte[] hashTemplate(final byte[] data, final String algorithm) {
         if (data == null || data.length <= 0) {
             return null;
         }
-        try {
-            MessageDigest md = MessageDigest.getInstance(algorithm);
-            md.update(data);
-            return md.digest();
-        } catch (NoSuchAlgorithmException e) {
-            e.printStackTrace();
-            return null;
-        }
+        return hash(data, 0, data.length, algorithm);
     }
 
     /**
@@ -167,455 +244,6625 @@ public class EncryptUtils {
      * @return 密文
      */
     public static byte[] encryptMD5File(final File file) {
-        if (file == null) {
+        return hashFile(file, "MD5");
+    }
+
+    /*
+     *  ########## 摘要相关 ##########
+     */
+
+    /**
+     * 摘要
+     *
+     * @param data      数据
+     * @param offset    起始位置
+     * @param len       长度
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @return 摘要
+     */
+    public static byte[] hash(final byte[] data,
+                              final int offset,
+                              final int len,
+                              final String algorithm) {
+        if (isOutOfBounds(data, offset, len) || len <= 0) {
             return null;
         }
-        FileInputStream fis = null;
-        DigestInputStream digestInputStream;
+        MessageDigest md = null;
         try {
-            fis = new FileInputStream(file);
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            digestInputStream = new DigestInputStream(fis, md);
-            byte[] buffer = new byte[256 * 1024];
-            while (true) {
-                if (digestInputStream.read(buffer) <= 0) {
-                    break;
-                }
-            }
-            md = digestInputStream.getMessageDigest();
+            md = DIGEST_CACHE.obtain(algorithm);
+            md.update(data, offset, len);
             return md.digest();
-        } catch (NoSuchAlgorithmException | IOException e) {
+        } catch (GeneralSecurityException e) {
             e.printStackTrace();
             return null;
         } finally {
-            try {
-                if (fis != null) {
-                    fis.close();
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
+            DIGEST_CACHE.recycle(algorithm, md);
+        }
+    }
+
+    /**
+     * 摘要
+     * <p>摘要写入调用方数组</p>
+     *
+     * @param data         数据
+     * @param offset       起始位置
+     * @param len          长度
+     * @param algorithm    算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @param output       输出数组
+     * @param outputOffset 输出起始位置
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int hash(final byte[] data,
+                           final int offset,
+                           final int len,
+                           final String algorithm,
+                           final byte[] output,
+                           final int outputOffset) {
+        if (isOutOfBounds(data, offset, len) || len <= 0
+                || isOutOfBounds(output, outputOffset, 0)) {
+            return -1;
+        }
+        MessageDigest md = null;
+        try {
+            md = DIGEST_CACHE.obtain(algorithm);
+            md.update(data, offset, len);
+            return md.digest(output, outputOffset, output.length - outputOffset);
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return -1;
+        } finally {
+            DIGEST_CACHE.recycle(algorithm, md);
+        }
+    }
+
+    /**
+     * 摘要
+     *
+     * @param data      数据, 读取position至limit
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @return 摘要
+     */
+    public static byte[] hash(final ByteBuffer data, final String algorithm) {
+        if (data == null || !data.hasRemaining()) {
+            return null;
+        }
+        MessageDigest md = null;
+        try {
+            md = DIGEST_CACHE.obtain(algorithm);
+            md.update(data);
+            return md.digest();
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            DIGEST_CACHE.recycle(algorithm, md);
+        }
+    }
+
+    /**
+     * 摘要
+     * <p>摘要写入调用方缓冲区</p>
+     *
+     * @param data      数据, 读取position至limit
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @param output    输出缓冲区
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int hash(final ByteBuffer data, final String algorithm, final ByteBuffer output) {
+        if (data == null || !data.hasRemaining() || output == null) {
+            return -1;
+        }
+        MessageDigest md = null;
+        try {
+            md = DIGEST_CACHE.obtain(algorithm);
+            int len = md.getDigestLength();
+            if (len <= 0 || output.remaining() < len) {
+                return -1;
+            }
+            md.update(data);
+            if (output.hasArray()) {
+                len = md.digest(output.array(), output.arrayOffset() + output.position(), output.remaining());
+                output.position(output.position() + len);
+            } else {
+                output.put(md.digest());
             }
+            return len;
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return -1;
+        } finally {
+            DIGEST_CACHE.recycle(algorithm, md);
         }
     }
 
     /*
-     *  ########## DES相关 ##########
+     *  ########## 批量摘要相关 ##########
      */
 
     /**
-     * DES加密(Base64)
+     * 并行批量摘要的最小数量
+     */
+    private static final int BATCH_PARALLEL_THRESHOLD = 1024;
+
+    /**
+     * 多段数据摘要
+     * <p>等价于拼接后摘要, 但不分配拼接数组 (如数据 + 盐)</p>
      *
-     * @param data           明文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 密文
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @param parts     多段数据, 忽略null
+     * @return 摘要
      */
-    public static byte[] encryptDES2Base64(final byte[] data,
-                                           final byte[] key,
-                                           final String transformation) {
-        return base64Encode(encryptDES(data, key, transformation));
+    public static byte[] hashParts(final String algorithm, final byte[]... parts) {
+        if (parts == null) {
+            return null;
+        }
+        long len = 0;
+        for (byte[] part : parts) {
+            len += part == null ? 0 : part.length;
+        }
+        if (len <= 0) {
+            return null;
+        }
+        MessageDigest md = null;
+        try {
+            md = DIGEST_CACHE.obtain(algorithm);
+            for (byte[] part : parts) {
+                if (part != null) {
+                    md.update(part);
+                }
+            }
+            return md.digest();
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            DIGEST_CACHE.recycle(algorithm, md);
+        }
     }
 
     /**
-     * DES加密(Hex)
+     * 批量摘要
+     * <p>第i个摘要位于结果的 [i * 摘要长度, (i + 1) * 摘要长度), null视为空数据</p>
      *
-     * @param data           明文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 密文
+     * @param inputs     数据列表
+     * @param algorithm  算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @param isParallel 是否在工作线程上并行
+     * @return 紧凑排列的摘要
      */
-    public static String encryptDES2HexString(final byte[] data,
-                                              final byte[] key,
-                                              final String transformation) {
-        return bytes2HexString(encryptDES(data, key, transformation));
+    public static byte[] hashBatch(final List<byte[]> inputs,
+                                   final String algorithm,
+                                   final boolean isParallel) {
+        return (byte[]) batchTemplate(inputs, algorithm, isParallel, false);
     }
 
     /**
-     * DES加密
+     * 批量摘要 (取摘要前8字节)
+     * <p>适用于缓存索引等只需64位键的场景</p>
      *
-     * @param data           明文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 密文
+     * @param inputs     数据列表
+     * @param algorithm  算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @param isParallel 是否在工作线程上并行
+     * @return 各摘要前8字节 (大端)
      */
-    public static byte[] encryptDES(final byte[] data,
-                                    final byte[] key,
-                                    final String transformation) {
-        return symmetricTemplate(data, key, "DES", transformation, true);
+    public static long[] hashBatch2Long(final List<byte[]> inputs,
+                                        final String algorithm,
+                                        final boolean isParallel) {
+        return (long[]) batchTemplate(inputs, algorithm, isParallel, true);
     }
 
     /**
-     * DES解密(Base64)
+     * 字符串批量摘要
+     * <p>按默认编码复用编码缓冲区, 结果同 {@link #hashBatch(List, String, boolean)}</p>
      *
-     * @param data           密文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 明文
+     * @param inputs     字符串列表
+     * @param algorithm  算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @param isParallel 是否在工作线程上并行
+     * @return 紧凑排列的摘要
      */
-    public static byte[] decryptBase64DES(final byte[] data,
-                                          final byte[] key,
-                                          final String transformation) {
-        return decryptDES(base64Decode(data), key, transformation);
+    public static byte[] hashBatchString(final List<? extends CharSequence> inputs,
+                                         final String algorithm,
+                                         final boolean isParallel) {
+        return (byte[]) batchTemplate(inputs, algorithm, isParallel, false);
     }
 
     /**
-     * DES解密(Hex)
+     * 字符串批量摘要 (取摘要前8字节)
      *
-     * @param data           密文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 明文
+     * @param inputs     字符串列表
+     * @param algorithm  算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @param isParallel 是否在工作线程上并行
+     * @return 各摘要前8字节 (大端)
      */
-    public static byte[] decryptHexStringDES(final String data,
-                                             final byte[] key,
-                                             final String transformation) {
-        return decryptDES(hexString2Bytes(data), key, transformation);
+    public static long[] hashBatchString2Long(final List<? extends CharSequence> inputs,
+                                              final String algorithm,
+                                              final boolean isParallel) {
+        return (long[]) batchTemplate(inputs, algorithm, isParallel, true);
+    }
+
+    private static Object batchTemplate(final List<?> inputs,
+                                        final String algorithm,
+                                        final boolean isParallel,
+                                        final boolean isLong) {
+        if (inputs == null) {
+            return null;
+        }
+        final Object[] items = inputs.toArray();
+        final int digestLen;
+        try {
+            MessageDigest md = DIGEST_CACHE.obtain(algorithm);
+            digestLen = md.getDigestLength();
+            DIGEST_CACHE.recycle(algorithm, md);
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        }
+        if (digestLen <= 0 || (isLong && digestLen < 8)) {
+            return null;
+        }
+        final byte[] packed = isLong ? null : new byte[items.length * digestLen];
+        final long[] longs = isLong ? new long[items.length] : null;
+        int taskCount = isParallel && items.length >= BATCH_PARALLEL_THRESHOLD
+                ? Runtime.getRuntime().availableProcessors() : 1;
+        int step = (items.length + taskCount - 1) / Math.max(1, taskCount);
+        List<Callable<Void>> tasks = new ArrayList<>(taskCount);
+        for (int from = 0; from < items.length; from += step) {
+            final int start = from;
+            final int end = Math.min(items.length, from + step);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    batchRange(items, start, end, algorithm, digestLen, packed, longs);
+                    return null;
+                }
+            });
+        }
+        try {
+            invokeAll(tasks);
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        return isLong ? longs : packed;
+    }
+
+    private static void batchRange(final Object[] items,
+                                   final int start,
+                                   final int end,
+                                   final String algorithm,
+                                   final int digestLen,
+                                   final byte[] packed,
+                                   final long[] longs) throws GeneralSecurityException {
+        MessageDigest md = DIGEST_CACHE.obtain(algorithm);
+        try {
+            byte[] scratch = longs == null ? null : new byte[digestLen];
+            CharsetEncoder encoder = null;
+            ByteBuffer encoded = null;
+            for (int i = start; i < end; i++) {
+                Object item = items[i];
+                if (item instanceof byte[]) {
+                    md.update((byte[]) item);
+                } else if (item instanceof CharSequence) {
+                    if (encoder == null) {
+                        encoder = Charset.defaultCharset().newEncoder()
+                                .onMalformedInput(CodingErrorAction.REPLACE)
+                                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                        encoded = ByteBuffer.allocate(256);
+                    }
+                    encoded = encode(encoder, (CharSequence) item, encoded);
+                    md.update(encoded.array(), 0, encoded.position());
+                }
+                if (longs == null) {
+                    md.digest(packed, i * digestLen, digestLen);
+                } else {
+                    md.digest(scratch, 0, digestLen);
+                    long value = 0;
+                    for (int j = 0; j < 8; j++) {
+                        value = value << 8 | (scratch[j] & 0xFF);
+                    }
+                    longs[i] = value;
+                }
+            }
+        } finally {
+            DIGEST_CACHE.recycle(algorithm, md);
+        }
     }
 
     /**
-     * DES解密(Hex)
-     *
-     * @param data           密文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 明文
+     * 编码至复用缓冲区, 空间不足时扩容
      */
-    public static byte[] decryptDES(final byte[] data,
-                                    final byte[] key,
-                                    final String transformation) {
-        return symmetricTemplate(data, key, "DES", transformation, false);
+    private static ByteBuffer encode(final CharsetEncoder encoder,
+                                     final CharSequence content,
+                                     final ByteBuffer buffer) {
+        ByteBuffer ret = buffer;
+        CharBuffer chars = CharBuffer.wrap(content);
+        while (true) {
+            encoder.reset();
+            ret.clear();
+            chars.rewind();
+            if (!encoder.encode(chars, ret, true).isOverflow()
+                    && !encoder.flush(ret).isOverflow()) {
+                return ret;
+            }
+            ret = ByteBuffer.allocate(ret.capacity() << 1);
+        }
     }
 
     /*
-     *  ########## AES相关 ##########
+     *  ########## 文件摘要相关 ##########
      */
 
     /**
-     * AES加密(Base64)
+     * SHA1文件加密
      *
-     * @param data           明文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param file 文件
      * @return 密文
      */
-    public static byte[] encryptAES2Base64(final byte[] data,
-                                           final byte[] key,
-                                           final String transformation) {
-        return base64Encode(encryptAES(data, key, transformation));
+    public static String encryptSHA1File2String(final File file) {
+        return bytes2HexString(encryptSHA1File(file));
     }
 
     /**
-     * AES加密(Hex)
+     * SHA1文件加密
      *
-     * @param data           明文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param file 文件
      * @return 密文
      */
-    public static String encryptAES2HexString(final byte[] data,
-                                              final byte[] key,
-                                              final String transformation) {
-        return bytes2HexString(encryptAES(data, key, transformation));
+    public static byte[] encryptSHA1File(final File file) {
+        return hashFile(file, "SHA-1");
     }
 
     /**
-     * AES加密
+     * SHA256文件加密
      *
-     * @param data           明文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param file 文件
      * @return 密文
      */
-    public static byte[] encryptAES(final byte[] data,
-                                    final byte[] key,
-                                    final String transformation) {
-        return symmetricTemplate(data, key, "AES", transformation, true);
+    public static String encryptSHA256File2String(final File file) {
+        return bytes2HexString(encryptSHA256File(file));
     }
 
     /**
-     * AES解密(Base64)
+     * SHA256文件加密
      *
-     * @param data           密文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 明文
+     * @param file 文件
+     * @return 密文
      */
-    public static byte[] decryptBase64AES(final byte[] data,
-                                          final byte[] key,
-                                          final String transformation) {
-        return decryptAES(base64Decode(data), key, transformation);
+    public static byte[] encryptSHA256File(final File file) {
+        return hashFile(file, "SHA-256");
     }
 
     /**
-     * AES解密(Hex)
+     * SHA512文件加密
      *
-     * @param data           密文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 明文
+     * @param file 文件
+     * @return 密文
      */
-    public static byte[] decryptHexStringAES(final String data,
-                                             final byte[] key,
-                                             final String transformation) {
-        return decryptAES(hexString2Bytes(data), key, transformation);
+    public static String encryptSHA512File2String(final File file) {
+        return bytes2HexString(encryptSHA512File(file));
     }
 
     /**
-     * AES解密
+     * SHA512文件加密
      *
-     * @param data           密文
-     * @param key            秘钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 明文
+     * @param file 文件
+     * @return 密文
      */
-    public static byte[] decryptAES(final byte[] data,
-                                    final byte[] key,
-                                    final String transformation) {
-        return symmetricTemplate(data, key, "AES", transformation, false);
+    public static byte[] encryptSHA512File(final File file) {
+        return hashFile(file, "SHA-512");
     }
 
-    private static byte[] symmetricTemplate(final byte[] data,
-                                            final byte[] key,
-                                            final String algorithm,
-                                            final String transformation,
-                                            final boolean isEncrypt) {
-        if (data == null || data.length == 0 || key == null || key.length == 0) {
-            return null;
-        }
-        try {
-            SecretKeySpec keySpec = new SecretKeySpec(key, algorithm);
-            Cipher cipher = Cipher.getInstance(transformation);
-            cipher.init(isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, keySpec);
-            return cipher.doFinal(data);
-        } catch (Throwable e) {
-            e.printStackTrace();
-            return null;
-        }
+    /**
+     * Hmac文件加密
+     *
+     * @param file      文件
+     * @param key       秘钥
+     * @param algorithm 算法: <i>HmacMD5</i>, <i>HmacSHA1</i>, <i>HmacSHA256</i>, <i>HmacSHA512</i>
+     * @return 密文
+     */
+    public static String encryptHmacFile2String(final File file,
+                                                final byte[] key,
+                                                final String algorithm) {
+        return bytes2HexString(encryptHmacFile(file, key, algorithm));
     }
 
-    /*
-     *  ########## RSA相关 ##########
+    /**
+     * Hmac文件加密
+     *
+     * @param file      文件
+     * @param key       秘钥
+     * @param algorithm 算法: <i>HmacMD5</i>, <i>HmacSHA1</i>, <i>HmacSHA256</i>, <i>HmacSHA512</i>
+     * @return 密文
      */
+    public static byte[] encryptHmacFile(final File file,
+                                         final byte[] key,
+                                         final String algorithm) {
+        if (file == null || key == null || key.length == 0) {
+            return null;
+        }
+        return digestFile(file, Digester.ofHmac(key, algorithm));
+    }
 
     /**
-     * RSA加密(Base64)
+     * 文件摘要
      *
-     * @param data           明文
-     * @param key            秘钥
-     * @param isPublicKey    是否为公钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 密文
+     * @param file      文件
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @return 摘要
      */
-    public static byte[] encryptRSA2Base64(final byte[] data,
-                                           final byte[] key,
-                                           final boolean isPublicKey,
-                                           final String transformation) {
-        return base64Encode(encryptRSA(data, key, isPublicKey, transformation));
+    public static String hashFile2String(final File file, final String algorithm) {
+        return bytes2HexString(hashFile(file, algorithm));
     }
 
     /**
-     * RSA加密(Hex)
+     * 文件摘要
+     * <p>经复用的直接缓冲区分段读取, 不使用内存映射</p>
      *
-     * @param data           明文
-     * @param key            秘钥
-     * @param isPublicKey    是否为公钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 密文
+     * @param file      文件
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @return 摘要
      */
-    public static String encryptRSA2HexString(final byte[] data,
-                                              final byte[] key,
-                                              final boolean isPublicKey,
-                                              final String transformation) {
-        return bytes2HexString(encryptRSA(data, key, isPublicKey, transformation));
+    public static byte[] hashFile(final File file, final String algorithm) {
+        if (file == null) {
+            return null;
+        }
+        return digestFile(file, Digester.of(algorithm));
     }
 
     /**
-     * RSA加密
+     * 输入流摘要
+     * <p>读取至流末尾, 不关闭流</p>
      *
-     * @param data           明文
-     * @param key            秘钥
-     * @param isPublicKey    是否为公钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 密文
+     * @param is        输入流
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @return 摘要
      */
-    public static byte[] encryptRSA(final byte[] data,
-                                    final byte[] key,
-                                    final boolean isPublicKey,
-                                    final String transformation) {
-        return rsaTemplate(data, key, isPublicKey, transformation, true);
+    public static byte[] hashStream(final InputStream is, final String algorithm) {
+        if (is == null) {
+            return null;
+        }
+        Digester digester = Digester.of(algorithm);
+        if (digester == null) {
+            return null;
+        }
+        try {
+            digestStream(is, digester);
+            return digester.digest();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
     }
 
     /**
-     * RSA解密(Base64)
+     * Uri摘要
+     * <p>file:// 按文件读取, 其余经ContentResolver以流读取</p>
      *
-     * @param data           密文
-     * @param key            秘钥
-     * @param isPublicKey    是否为公钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 明文
+     * @param uri       Uri
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @return 摘要
      */
-    public static byte[] decryptBase64RSA(final byte[] data,
-                                          final byte[] key,
-                                          final boolean isPublicKey,
-                                          final String transformation) {
-        return decryptRSA(base64Decode(data), key, isPublicKey, transformation);
+    public static byte[] hashUri(final Uri uri, final String algorithm) {
+        if (uri == null) {
+            return null;
+        }
+        if ("file".equals(uri.getScheme())) {
+            String path = uri.getPath();
+            return TextUtils.isEmpty(path) ? null : hashFile(new File(path), algorithm);
+        }
+        InputStream is = null;
+        try {
+            is = Utils.getApp().getContentResolver().openInputStream(uri);
+            return hashStream(is, algorithm);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            CloseUtils.closeQuietly(is);
+        }
     }
 
     /**
-     * RSA解密(Hex)
+     * 单次读取缓冲大小
+     */
+    private static final int FILE_BUFFER_SIZE = 256 * 1024;
+    private static final ThreadLocal<ByteBuffer> FILE_BUFFER = new ThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+            return ByteBuffer.allocateDirect(FILE_BUFFER_SIZE);
+        }
+    };
+
+    private static final ThreadLocal<byte[]> STREAM_BUFFER = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[FILE_BUFFER_SIZE];
+        }
+    };
+
+    private static byte[] digestFile(final File file, final Digester digester) {
+        if (digester == null) {
+            return null;
+        }
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(file);
+            digestChannel(fis.getChannel(), digester);
+            return digester.digest();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            CloseUtils.closeQuietly(fis);
+        }
+    }
+
+    private static void digestChannel(final FileChannel channel,
+                                      final Digester digester) throws IOException {
+        // 不使用内存映射: 映射区域无法及时释放, 大文件或并行摘要时会耗尽32位进程的地址空间
+        ByteBuffer buffer = FILE_BUFFER.get();
+        buffer.clear();
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            digester.update(buffer);
+            buffer.clear();
+        }
+    }
+
+    private static void digestStream(final InputStream is,
+                                     final Digester digester) throws IOException {
+        byte[] buffer = STREAM_BUFFER.get();
+        int len;
+        while ((len = is.read(buffer)) != -1) {
+            digester.update(buffer, 0, len);
+        }
+    }
+
+    /**
+     * 统一MessageDigest与Mac的摘要接口
+     */
+    private static abstract class Digester {
+
+        abstract void update(ByteBuffer input);
+
+        abstract void update(byte[] input, int offset, int len);
+
+        /**
+         * 输出摘要并回收引擎, 之后不可再使用
+         */
+        abstract byte[] digest();
+
+        static Digester of(final String algorithm) {
+            try {
+                final MessageDigest md = DIGEST_CACHE.obtain(algorithm);
+                return new Digester() {
+                    @Override
+                    void update(ByteBuffer input) {
+                        md.update(input);
+                    }
+
+                    @Override
+                    void update(byte[] input, int offset, int len) {
+                        md.update(input, offset, len);
+                    }
+
+                    @Override
+                    byte[] digest() {
+                        byte[] ret = md.digest();
+                        DIGEST_CACHE.recycle(algorithm, md);
+                        return ret;
+                    }
+                };
+            } catch (GeneralSecurityException e) {
+                e.printStackTrace();
+                return null;
+            }
+        }
+
+        static Digester ofHmac(final byte[] key, final String algorithm) {
+            try {
+                final Mac mac = MAC_CACHE.obtain(algorithm);
+                mac.init(new SecretKeySpec(key, algorithm));
+                return new Digester() {
+                    @Override
+                    void update(ByteBuffer input) {
+                        mac.update(input);
+                    }
+
+                    @Override
+                    void update(byte[] input, int offset, int len) {
+                        mac.update(input, offset, len);
+                    }
+
+                    @Override
+                    byte[] digest() {
+                        byte[] ret = mac.doFinal();
+                        MAC_CACHE.recycle(algorithm, mac);
+                        return ret;
+                    }
+                };
+            } catch (GeneralSecurityException e) {
+                e.printStackTrace();
+                return null;
+            }
+        }
+    }
+
+    /*
+     *  ########## 摘要缓存相关 ##########
+     */
+
+    private static final String DIGEST_CACHE_NAME = "x_digest_cache.idx";
+    private static final int DIGEST_CACHE_MAGIC = 0x58444743;
+    private static final int DIGEST_CACHE_VERSION = 1;
+    private static final int DIGEST_CACHE_SIZE = 4096;
+    /**
+     * 修改时间距今过近的文件不缓存, 避免同一时间粒度内再次修改而无法察觉
+     */
+    private static final long DIGEST_CACHE_RACY_MILLIS = 2000;
+
+    private static final Object DIGEST_CACHE_LOCK = new Object();
+    private static final Object DIGEST_CACHE_FILE_LOCK = new Object();
+    private static Map<String, DigestEntry> sDigestCache;
+    private static boolean sDigestCacheDirty;
+    private static boolean sDigestCacheFlushPending;
+    /**
+     * 每次生成快照及清理时递增, 写入前据此丢弃过期快照
+     */
+    private static long sDigestCacheSnapshot;
+
+    /**
+     * MD5文件加密, 使用摘要缓存
      *
-     * @param data           密文
-     * @param key            秘钥
-     * @param isPublicKey    是否为公钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 明文
+     * @param file 文件
+     * @return 密文
      */
-    public static byte[] decryptHexStringRSA(final String data,
-                                             final byte[] key,
-                                             final boolean isPublicKey,
-                                             final String transformation) {
-        return decryptRSA(hexString2Bytes(data), key, isPublicKey, transformation);
+    public static String encryptMD5FileCached2String(final File file) {
+        return hashFileCached2String(file, "MD5");
     }
 
     /**
-     * RSA解密
+     * 文件摘要, 使用摘要缓存
      *
-     * @param data           密文
-     * @param key            秘钥
-     * @param isPublicKey    是否为公钥
-     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
-     * @return 明文
+     * @param file      文件
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @return 摘要
      */
-    public static byte[] decryptRSA(final byte[] data,
-                                    final byte[] key,
-                                    final boolean isPublicKey,
-                                    final String transformation) {
-        return rsaTemplate(data, key, isPublicKey, transformation, false);
+    public static String hashFileCached2String(final File file, final String algorithm) {
+        return bytes2HexString(hashFileCached(file, algorithm));
     }
 
-    private static byte[] rsaTemplate(final byte[] data,
-                                      final byte[] key,
-                                      final boolean isPublicKey,
-                                      final String transformation,
-                                      final boolean isEncrypt) {
-        if (data == null || data.length == 0 || key == null || key.length == 0) {
+    /**
+     * 文件摘要, 使用摘要缓存
+     * <p>以 (规范路径, 长度, 修改时间, 算法) 为键缓存于 filesDir 下的索引文件,
+     * 文件未变化时不再读取内容; 文件变化后于下次查询时重新计算</p>
+     * <p>索引在后台合并写入, 退出前可调用 {@link #flushDigestCache()} 立即写入</p>
+     *
+     * @param file      文件
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @return 摘要
+     */
+    public static byte[] hashFileCached(final File file, final String algorithm) {
+        if (file == null || algorithm == null || !file.isFile()) {
             return null;
         }
+        String key;
         try {
-            Key rsaKey;
-            if (isPublicKey) {
-                X509EncodedKeySpec keySpec = new X509EncodedKeySpec(key);
-                rsaKey = KeyFactory.getInstance("RSA").generatePublic(keySpec);
-            } else {
-                PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(key);
-                rsaKey = KeyFactory.getInstance("RSA").generatePrivate(keySpec);
+            key = algorithm + ":" + file.getCanonicalPath();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+        long length = file.length();
+        long lastModified = file.lastModified();
+        synchronized (DIGEST_CACHE_LOCK) {
+            DigestEntry entry = getDigestCache().get(key);
+            if (entry != null && entry.mLength == length && entry.mLastModified == lastModified) {
+                return entry.mDigest.clone();
             }
-            if (rsaKey == null) {
-                return null;
+        }
+        byte[] ret = hashFile(file, algorithm);
+        if (ret == null) {
+            return null;
+        }
+        // 计算期间文件被修改则不缓存
+        if (file.length() != length || file.lastModified() != lastModified
+                || System.currentTimeMillis() - lastModified < DIGEST_CACHE_RACY_MILLIS) {
+            return ret;
+        }
+        synchronized (DIGEST_CACHE_LOCK) {
+            getDigestCache().put(key, new DigestEntry(length, lastModified, ret.clone()));
+            sDigestCacheDirty = true;
+            if (!sDigestCacheFlushPending) {
+                sDigestCacheFlushPending = true;
+                getIOExecutor().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        flushDigestCache();
+                    }
+                });
             }
-            Cipher cipher = Cipher.getInstance(transformation);
-            cipher.init(isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, rsaKey);
-            int len = data.length;
-            int maxLen = isEncrypt ? 117 : 128;
-            int count = len / maxLen;
-            if (count > 0) {
-                byte[] ret = new byte[0];
-                byte[] buff = new byte[maxLen];
-                int index = 0;
-                for (int i = 0; i < count; i++) {
-                    System.arraycopy(data, index, buff, 0, maxLen);
-                    ret = joins(ret, cipher.doFinal(buff));
-                    index += maxLen;
-                }
-                if (index != len) {
-                    int restLen = len - index;
-                    buff = new byte[restLen];
-                    System.arraycopy(data, index, buff, 0, restLen);
-                    ret = joins(ret, cipher.doFinal(buff));
+        }
+        return ret;
+    }
+
+    /**
+     * 立即写入摘要缓存索引
+     *
+     * @return true:成功/false:失败
+     */
+    public static boolean flushDigestCache() {
+        byte[] data;
+        long snapshot;
+        synchronized (DIGEST_CACHE_LOCK) {
+            sDigestCacheFlushPending = false;
+            if (!sDigestCacheDirty) {
+                return true;
+            }
+            data = encodeDigestCache(getDigestCache());
+            sDigestCacheDirty = false;
+            snapshot = ++sDigestCacheSnapshot;
+        }
+        File file = getDigestCacheFile();
+        if (file == null) {
+            return false;
+        }
+        synchronized (DIGEST_CACHE_FILE_LOCK) {
+            synchronized (DIGEST_CACHE_LOCK) {
+                // 其后已有更新的快照或已被清理, 由更新者负责写入
+                if (snapshot != sDigestCacheSnapshot) {
+                    return true;
                 }
-                return ret;
-            } else {
-                return cipher.doFinal(data);
             }
-        } catch (NoSuchAlgorithmException e) {
-            e.printStackTrace();
-        } catch (NoSuchPaddingException e) {
-            e.printStackTrace();
-        } catch (InvalidKeyException e) {
-            e.printStackTrace();
-        } catch (BadPaddingException e) {
-            e.printStackTrace();
-        } catch (IllegalBlockSizeException e) {
-            e.printStackTrace();
-        } catch (InvalidKeySpecException e) {
-            e.printStackTrace();
+            // 先写临时文件再重命名, 避免中途退出损坏索引
+            File temp = new File(file.getPath() + ".tmp");
+            FileOutputStream fos = null;
+            try {
+                fos = new FileOutputStream(temp);
+                fos.write(data);
+                fos.getFD().sync();
+            } catch (IOException e) {
+                e.printStackTrace();
+                return false;
+            } finally {
+                CloseUtils.closeQuietly(fos);
+            }
+            return temp.renameTo(file);
         }
-        return null;
     }
 
-    /*
-     *  ########## 相关方法 ##########
+    /**
+     * 清理摘要缓存及其索引文件
      */
+    public static void clearDigestCache() {
+        // 持有文件锁, 避免进行中的写入在删除后重新生成索引
+        synchronized (DIGEST_CACHE_FILE_LOCK) {
+            synchronized (DIGEST_CACHE_LOCK) {
+                getDigestCache().clear();
+                sDigestCacheDirty = false;
+                sDigestCacheSnapshot++;
+                File file = getDigestCacheFile();
+                if (file != null) {
+                    //noinspection ResultOfMethodCallIgnored
+                    file.delete();
+                }
+            }
+        }
+    }
 
-    private static byte[] joins(final byte[] prefix, final byte[] suffix) {
-        byte[] ret = new byte[prefix.length + suffix.length];
-        System.arraycopy(prefix, 0, ret, 0, prefix.length);
-        System.arraycopy(suffix, 0, ret, prefix.length, suffix.length);
-        return ret;
+    private static final class DigestEntry {
+        private final long mLength;
+        private final long mLastModified;
+        private final byte[] mDigest;
+
+        DigestEntry(final long length, final long lastModified, final byte[] digest) {
+            mLength = length;
+            mLastModified = lastModified;
+            mDigest = digest;
+        }
     }
 
-    private static final char HEX_DIGITS[] =
-            {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+    private static Map<String, DigestEntry> getDigestCache() {
+        if (sDigestCache == null) {
+            sDigestCache = new LinkedHashMap<String, DigestEntry>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, DigestEntry> eldest) {
+                    return size() > DIGEST_CACHE_SIZE;
+                }
+            };
+            File file = getDigestCacheFile();
+            if (file != null && file.isFile()) {
+                try {
+                    decodeDigestCache(readFile(file), sDigestCache);
+                } catch (IOException e) {
+                    // 索引损坏时丢弃, 后续查询重新计算
+                    e.printStackTrace();
+                    sDigestCache.clear();
+                }
+            }
+        }
+        return sDigestCache;
+    }
 
-    private static String bytes2HexString(final byte[] bytes) {
-        if (bytes == null) {
-            return "";
+    private static File getDigestCacheFile() {
+        try {
+            return new File(Utils.getApp().getFilesDir(), DIGEST_CACHE_NAME);
+        } catch (UnsupportedOperationException e) {
+            // X-Utils未初始化, 仅缓存于内存
+            return null;
         }
-        int len = bytes.length;
-        if (len <= 0) {
-            return "";
+    }
+
+    /**
+     * 索引格式: 魔数(4) + 版本(1) + 条目数(4) + 条目[键长(2) + 键(UTF-8) + 长度(8) + 修改时间(8) + 摘要长(1) + 摘要]
+     */
+    private static byte[] encodeDigestCache(final Map<String, DigestEntry> cache) {
+        List<byte[]> keys = new ArrayList<>(cache.size());
+        int size = 9;
+        for (Map.Entry<String, DigestEntry> entry : cache.entrySet()) {
+            byte[] key = entry.getKey().getBytes(Charset.forName("UTF-8"));
+            keys.add(key);
+            size += 2 + key.length + 17 + entry.getValue().mDigest.length;
         }
-        char[] ret = new char[len << 1];
-        for (int i = 0, j = 0; i < len; i++) {
-            ret[j++] = HEX_DIGITS[bytes[i] >> 4 & 0x0f];
-            ret[j++] = HEX_DIGITS[bytes[i] & 0x0f];
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(DIGEST_CACHE_MAGIC).put((byte) DIGEST_CACHE_VERSION).putInt(cache.size());
+        int i = 0;
+        for (DigestEntry entry : cache.values()) {
+            byte[] key = keys.get(i++);
+            buffer.putShort((short) key.length).put(key)
+                    .putLong(entry.mLength).putLong(entry.mLastModified)
+                    .put((byte) entry.mDigest.length).put(entry.mDigest);
         }
-        return new String(ret);
+        return buffer.array();
     }
 
-    private static byte[] hexString2Bytes(String hexString) {
-        if (TextUtils.isEmpty(hexString)) {
-            return null;
+    private static void decodeDigestCache(final byte[] data, final Map<String, DigestEntry> cache)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        try {
+            if (buffer.getInt() != DIGEST_CACHE_MAGIC || buffer.get() != DIGEST_CACHE_VERSION) {
+                return;
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] key = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(key);
+                long length = buffer.getLong();
+                long lastModified = buffer.getLong();
+                byte[] digest = new byte[buffer.get() & 0xFF];
+                buffer.get(digest);
+                cache.put(new String(key, Charset.forName("UTF-8")), new DigestEntry(length, lastModified, digest));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Illegal digest cache", e);
         }
-        int len = hexString.length();
-        if (len % 2 != 0) {
-            hexString = "0" + hexString;
-            len = len + 1;
+    }
+
+    private static byte[] readFile(final File file) throws IOException {
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(file);
+            byte[] ret = new byte[(int) file.length()];
+            readFully(fis, ret);
+            return ret;
+        } finally {
+            CloseUtils.closeQuietly(fis);
+        }
+    }
+
+    /*
+     *  ########## 增量摘要相关 ##########
+     */
+
+    /**
+     * 新建增量摘要
+     *
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>
+     * @return 增量摘要, 不支持的算法返回null
+     */
+    public static IncrementalDigest newIncrementalDigest(final String algorithm) {
+        int type = IncrementalDigest.getType(algorithm);
+        return type == -1 ? null : new IncrementalDigest(type);
+    }
+
+    /**
+     * 从 {@link IncrementalDigest#save()} 保存的状态恢复增量摘要
+     *
+     * @param state 状态
+     * @return 增量摘要, 状态无效返回null
+     */
+    public static IncrementalDigest restoreIncrementalDigest(final byte[] state) {
+        if (state == null) {
+            return null;
         }
-        char[] hexBytes = hexString.toUpperCase().toCharArray();
-        byte[] ret = new byte[len >> 1];
-        for (int i = 0; i < len; i += 2) {
-            ret[i >> 1] = (byte) (hex2Dec(hexBytes[i]) << 4 | hex2Dec(hexBytes[i + 1]));
+        try {
+            return IncrementalDigest.restore(state);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
         }
-        return ret;
     }
 
-    private static int hex2Dec(final char hexChar) {
-        if (hexChar >= '0' && hexChar <= '9') {
-            return hexChar - '0';
-        } else if (hexChar >= 'A' && hexChar <= 'F') {
-            return hexChar - 'A' + 10;
-        } else {
-            throw new IllegalArgumentException();
+    /**
+     * 增量摘要
+     * <p>适用于只追加的日志等文件: 记录摘要中间状态与已处理偏移, 可持久化,
+     * 再次调用 {@link #update(File)} 时仅处理新追加的字节</p>
+     * <p>文件变短或已处理部分末尾的样本字节变化时视为被截断/重写, 自动从头计算</p>
+     * <p>非线程安全</p>
+     */
+    public static final class IncrementalDigest {
+
+        private static final int TYPE_MD5 = 0;
+        private static final int TYPE_SHA1 = 1;
+        private static final int TYPE_SHA256 = 2;
+        private static final String[] ALGORITHMS = {"MD5", "SHA-1", "SHA-256"};
+        private static final int[] DIGEST_LENGTHS = {16, 20, 32};
+        private static final int BLOCK_SIZE = 64;
+        private static final int SAMPLE_LENGTH = 64;
+        private static final int STATE_MAGIC = 0x58494447;
+        private static final int STATE_VERSION = 1;
+
+        private static final int[] MD5_S = {
+                7, 12, 17, 22, 5, 9, 14, 20, 4, 11, 16, 23, 6, 10, 15, 21
+        };
+        private static final int[] MD5_K = {
+                0xd76aa478, 0xe8c7b756, 0x242070db, 0xc1bdceee, 0xf57c0faf, 0x4787c62a, 0xa8304613, 0xfd469501,
+                0x698098d8, 0x8b44f7af, 0xffff5bb1, 0x895cd7be, 0x6b901122, 0xfd987193, 0xa679438e, 0x49b40821,
+                0xf61e2562, 0xc040b340, 0x265e5a51, 0xe9b6c7aa, 0xd62f105d, 0x02441453, 0xd8a1e681, 0xe7d3fbc8,
+                0x21e1cde6, 0xc33707d6, 0xf4d50d87, 0x455a14ed, 0xa9e3e905, 0xfcefa3f8, 0x676f02d9, 0x8d2a4c8a,
+                0xfffa3942, 0x8771f681, 0x6d9d6122, 0xfde5380c, 0xa4beea44, 0x4bdecfa9, 0xf6bb4b60, 0xbebfbc70,
+                0x289b7ec6, 0xeaa127fa, 0xd4ef3085, 0x04881d05, 0xd9d4d039, 0xe6db99e5, 0x1fa27cf8, 0xc4ac5665,
+                0xf4292244, 0x432aff97, 0xab9423a7, 0xfc93a039, 0x655b59c3, 0x8f0ccc92, 0xffeff47d, 0x85845dd1,
+                0x6fa87e4f, 0xfe2ce6e0, 0xa3014314, 0x4e0811a1, 0xf7537e82, 0xbd3af235, 0x2ad7d2bb, 0xeb86d391
+        };
+
+        private static final int[] SHA256_K = {
+                0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+                0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+                0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+                0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+                0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13, 0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+                0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+                0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+                0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2
+        };
+
+        private final int mType;
+        private final int[] mState;
+        private final int[] mWords;
+        private final byte[] mBuffer = new byte[BLOCK_SIZE];
+        private final byte[] mSample = new byte[SAMPLE_LENGTH];
+        private int mSampleLength;
+        private long mCount;
+
+        IncrementalDigest(final int type) {
+            mType = type;
+            mState = new int[type == TYPE_MD5 ? 4 : type == TYPE_SHA1 ? 5 : 8];
+            mWords = new int[type == TYPE_MD5 ? 16 : type == TYPE_SHA1 ? 80 : 64];
+            reset();
+        }
+
+        static int getType(final String algorithm) {
+            for (int i = 0; i < ALGORITHMS.length; i++) {
+                if (ALGORITHMS[i].equalsIgnoreCase(algorithm)) {
+                    return i;
+                }
+            }
+            return "SHA1".equalsIgnoreCase(algorithm) ? TYPE_SHA1
+                    : "SHA256".equalsIgnoreCase(algorithm) ? TYPE_SHA256 : -1;
+        }
+
+        public String getAlgorithm() {
+            return ALGORITHMS[mType];
+        }
+
+        /**
+         * 获取已处理字节数, 即下次 {@link #update(File)} 的起始偏移
+         */
+        public long getOffset() {
+            return mCount;
+        }
+
+        /**
+         * 重置为初始状态
+         */
+        public void reset() {
+            switch (mType) {
+                case TYPE_MD5:
+                    mState[0] = 0x67452301;
+                    mState[1] = 0xefcdab89;
+                    mState[2] = 0x98badcfe;
+                    mState[3] = 0x10325476;
+                    break;
+                case TYPE_SHA1:
+                    mState[0] = 0x67452301;
+                    mState[1] = 0xefcdab89;
+                    mState[2] = 0x98badcfe;
+                    mState[3] = 0x10325476;
+                    mState[4] = 0xc3d2e1f0;
+                    break;
+                default:
+                    mState[0] = 0x6a09e667;
+                    mState[1] = 0xbb67ae85;
+                    mState[2] = 0x3c6ef372;
+                    mState[3] = 0xa54ff53a;
+                    mState[4] = 0x510e527f;
+                    mState[5] = 0x9b05688c;
+                    mState[6] = 0x1f83d9ab;
+                    mState[7] = 0x5be0cd19;
+                    break;
+            }
+            mCount = 0;
+            mSampleLength = 0;
+        }
+
+        /**
+         * 追加数据
+         *
+         * @param data   数据
+         * @param offset 偏移
+         * @param len    长度
+         */
+        public void update(final byte[] data, final int offset, final int len) {
+            if (isOutOfBounds(data, offset, len)) {
+                throw new IndexOutOfBoundsException();
+            }
+            updateSample(data, offset, len);
+            int pos = (int) (mCount & (BLOCK_SIZE - 1));
+            mCount += len;
+            int off = offset;
+            int remaining = len;
+            if (pos > 0) {
+                int n = Math.min(BLOCK_SIZE - pos, remaining);
+                System.arraycopy(data, off, mBuffer, pos, n);
+                off += n;
+                remaining -= n;
+                if (pos + n < BLOCK_SIZE) {
+                    return;
+                }
+                compress(mState, mBuffer, 0);
+            }
+            for (; remaining >= BLOCK_SIZE; off += BLOCK_SIZE, remaining -= BLOCK_SIZE) {
+                compress(mState, data, off);
+            }
+            System.arraycopy(data, off, mBuffer, 0, remaining);
+        }
+
+        /**
+         * 处理文件自上次偏移起新追加的字节
+         * <p>文件被截断或重写时自动从头计算</p>
+         *
+         * @param file 文件
+         * @return true:成功/false:失败
+         */
+        public boolean update(final File file) {
+            if (file == null || !file.isFile()) {
+                return false;
+            }
+            FileInputStream fis = null;
+            try {
+                fis = new FileInputStream(file);
+                FileChannel channel = fis.getChannel();
+                if (channel.size() < mCount || !isSampleMatch(channel)) {
+                    reset();
+                }
+                channel.position(mCount);
+                byte[] buffer = STREAM_BUFFER.get();
+                int len;
+                while ((len = fis.read(buffer)) != -1) {
+                    update(buffer, 0, len);
+                }
+                return true;
+            } catch (IOException e) {
+                e.printStackTrace();
+                return false;
+            } finally {
+                CloseUtils.closeQuietly(fis);
+            }
+        }
+
+        /**
+         * 获取当前摘要, 不影响后续追加
+         *
+         * @return 摘要
+         */
+        public byte[] digest() {
+            int[] state = mState.clone();
+            byte[] block = new byte[BLOCK_SIZE];
+            int pos = (int) (mCount & (BLOCK_SIZE - 1));
+            System.arraycopy(mBuffer, 0, block, 0, pos);
+            block[pos++] = (byte) 0x80;
+            if (pos > BLOCK_SIZE - 8) {
+                compress(state, block, 0);
+                Arrays.fill(block, (byte) 0);
+            }
+            long bits = mCount << 3;
+            for (int i = 0; i < 8; i++) {
+                int shift = mType == TYPE_MD5 ? i << 3 : (7 - i) << 3;
+                block[BLOCK_SIZE - 8 + i] = (byte) (bits >>> shift);
+            }
+            compress(state, block, 0);
+            byte[] ret = new byte[DIGEST_LENGTHS[mType]];
+            for (int i = 0; i < ret.length; i++) {
+                int shift = mType == TYPE_MD5 ? (i & 3) << 3 : (3 - (i & 3)) << 3;
+                ret[i] = (byte) (state[i >> 2] >>> shift);
+            }
+            return ret;
+        }
+
+        /**
+         * 获取当前摘要, 不影响后续追加
+         *
+         * @return 摘要
+         */
+        public String digest2String() {
+            return bytes2HexString(digest());
+        }
+
+        /**
+         * 保存状态, 可经 {@link EncryptUtils#restoreIncrementalDigest(byte[])} 恢复
+         * <p>格式: 魔数(4) + 版本(1) + 算法(1) + 偏移(8) + 中间状态 + 未满分组 + 样本长(1) + 样本</p>
+         *
+         * @return 状态
+         */
+        public byte[] save() {
+            int pos = (int) (mCount & (BLOCK_SIZE - 1));
+            ByteBuffer buffer = ByteBuffer.allocate(15 + (mState.length << 2) + pos + mSampleLength);
+            buffer.putInt(STATE_MAGIC).put((byte) STATE_VERSION).put((byte) mType).putLong(mCount);
+            for (int word : mState) {
+                buffer.putInt(word);
+            }
+            buffer.put(mBuffer, 0, pos).put((byte) mSampleLength).put(mSample, 0, mSampleLength);
+            return buffer.array();
+        }
+
+        static IncrementalDigest restore(final byte[] state) throws IOException {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(state);
+                if (buffer.getInt() != STATE_MAGIC || buffer.get() != STATE_VERSION) {
+                    throw new IOException("Illegal digest state");
+                }
+                int type = buffer.get();
+                long count = buffer.getLong();
+                if (type < 0 || type >= ALGORITHMS.length || count < 0) {
+                    throw new IOException("Illegal digest state");
+                }
+                IncrementalDigest ret = new IncrementalDigest(type);
+                for (int i = 0; i < ret.mState.length; i++) {
+                    ret.mState[i] = buffer.getInt();
+                }
+                buffer.get(ret.mBuffer, 0, (int) (count & (BLOCK_SIZE - 1)));
+                int sampleLength = buffer.get() & 0xFF;
+                if (sampleLength > SAMPLE_LENGTH || sampleLength > count) {
+                    throw new IOException("Illegal digest state");
+                }
+                buffer.get(ret.mSample, 0, sampleLength);
+                ret.mSampleLength = sampleLength;
+                ret.mCount = count;
+                return ret;
+            } catch (RuntimeException e) {
+                throw new IOException("Illegal digest state", e);
+            }
+        }
+
+        /**
+         * 保留已处理数据末尾的样本字节, 用于识别截断后重写
+         */
+        private void updateSample(final byte[] data, final int offset, final int len) {
+            if (len >= SAMPLE_LENGTH) {
+                System.arraycopy(data, offset + len - SAMPLE_LENGTH, mSample, 0, SAMPLE_LENGTH);
+                mSampleLength = SAMPLE_LENGTH;
+                return;
+            }
+            int keep = Math.min(mSampleLength, SAMPLE_LENGTH - len);
+            System.arraycopy(mSample, mSampleLength - keep, mSample, 0, keep);
+            System.arraycopy(data, offset, mSample, keep, len);
+            mSampleLength = keep + len;
+        }
+
+        private boolean isSampleMatch(final FileChannel channel) throws IOException {
+            if (mSampleLength == 0) {
+                return true;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(mSampleLength);
+            readFully(channel, buffer, mCount - mSampleLength);
+            for (int i = 0; i < mSampleLength; i++) {
+                if (buffer.get(i) != mSample[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void compress(final int[] state, final byte[] block, final int offset) {
+            switch (mType) {
+                case TYPE_MD5:
+                    compressMD5(state, block, offset);
+                    break;
+                case TYPE_SHA1:
+                    compressSHA1(state, block, offset);
+                    break;
+                default:
+                    compressSHA256(state, block, offset);
+                    break;
+            }
+        }
+
+        private void compressMD5(final int[] state, final byte[] block, final int offset) {
+            int[] x = mWords;
+            for (int i = 0; i < 16; i++) {
+                int j = offset + (i << 2);
+                x[i] = (block[j] & 0xFF) | (block[j + 1] & 0xFF) << 8
+                        | (block[j + 2] & 0xFF) << 16 | block[j + 3] << 24;
+            }
+            int a = state[0];
+            int b = state[1];
+            int c = state[2];
+            int d = state[3];
+            for (int i = 0; i < 64; i++) {
+                int f;
+                int g;
+                if (i < 16) {
+                    f = (b & c) | (~b & d);
+                    g = i;
+                } else if (i < 32) {
+                    f = (d & b) | (~d & c);
+                    g = (5 * i + 1) & 15;
+                } else if (i < 48) {
+                    f = b ^ c ^ d;
+                    g = (3 * i + 5) & 15;
+                } else {
+                    f = c ^ (b | ~d);
+                    g = (7 * i) & 15;
+                }
+                int temp = d;
+                d = c;
+                c = b;
+                b += Integer.rotateLeft(a + f + MD5_K[i] + x[g], MD5_S[(i >> 4 << 2) | (i & 3)]);
+                a = temp;
+            }
+            state[0] += a;
+            state[1] += b;
+            state[2] += c;
+            state[3] += d;
+        }
+
+        private void compressSHA1(final int[] state, final byte[] block, final int offset) {
+            int[] w = mWords;
+            for (int i = 0; i < 16; i++) {
+                w[i] = getInt(block, offset + (i << 2));
+            }
+            for (int i = 16; i < 80; i++) {
+                w[i] = Integer.rotateLeft(w[i - 3] ^ w[i - 8] ^ w[i - 14] ^ w[i - 16], 1);
+            }
+            int a = state[0];
+            int b = state[1];
+            int c = state[2];
+            int d = state[3];
+            int e = state[4];
+            for (int i = 0; i < 80; i++) {
+                int f;
+                if (i < 20) {
+                    f = ((b & c) | (~b & d)) + 0x5a827999;
+                } else if (i < 40) {
+                    f = (b ^ c ^ d) + 0x6ed9eba1;
+                } else if (i < 60) {
+                    f = ((b & c) | (b & d) | (c & d)) + 0x8f1bbcdc;
+                } else {
+                    f = (b ^ c ^ d) + 0xca62c1d6;
+                }
+                int temp = Integer.rotateLeft(a, 5) + f + e + w[i];
+                e = d;
+                d = c;
+                c = Integer.rotateLeft(b, 30);
+                b = a;
+                a = temp;
+            }
+            state[0] += a;
+            state[1] += b;
+            state[2] += c;
+            state[3] += d;
+            state[4] += e;
+        }
+
+        private void compressSHA256(final int[] state, final byte[] block, final int offset) {
+            int[] w = mWords;
+            for (int i = 0; i < 16; i++) {
+                w[i] = getInt(block, offset + (i << 2));
+            }
+            for (int i = 16; i < 64; i++) {
+                int s0 = Integer.rotateRight(w[i - 15], 7) ^ Integer.rotateRight(w[i - 15], 18) ^ (w[i - 15] >>> 3);
+                int s1 = Integer.rotateRight(w[i - 2], 17) ^ Integer.rotateRight(w[i - 2], 19) ^ (w[i - 2] >>> 10);
+                w[i] = w[i - 16] + s0 + w[i - 7] + s1;
+            }
+            int a = state[0];
+            int b = state[1];
+            int c = state[2];
+            int d = state[3];
+            int e = state[4];
+            int f = state[5];
+            int g = state[6];
+            int h = state[7];
+            for (int i = 0; i < 64; i++) {
+                int s1 = Integer.rotateRight(e, 6) ^ Integer.rotateRight(e, 11) ^ Integer.rotateRight(e, 25);
+                int t1 = h + s1 + ((e & f) ^ (~e & g)) + SHA256_K[i] + w[i];
+                int s0 = Integer.rotateRight(a, 2) ^ Integer.rotateRight(a, 13) ^ Integer.rotateRight(a, 22);
+                int t2 = s0 + ((a & b) ^ (a & c) ^ (b & c));
+                h = g;
+                g = f;
+                f = e;
+                e = d + t1;
+                d = c;
+                c = b;
+                b = a;
+                a = t1 + t2;
+            }
+            state[0] += a;
+            state[1] += b;
+            state[2] += c;
+            state[3] += d;
+            state[4] += e;
+            state[5] += f;
+            state[6] += g;
+            state[7] += h;
+        }
+    }
+
+    /*
+     *  ########## 分块摘要相关 ##########
+     */
+
+    /**
+     * 默认分块大小
+     */
+    public static final int TREE_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * 文件分块并行摘要 (默认分块大小)
+     *
+     * @param file      文件
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @return 分块摘要
+     */
+    public static TreeDigest hashFileTree(final File file, final String algorithm) {
+        return hashFileTree(file, algorithm, TREE_CHUNK_SIZE);
+    }
+
+    /**
+     * 文件分块并行摘要
+     * <p>各分块经复用的直接缓冲区按位置读取, 在工作线程上并行摘要, 根摘要为按序拼接的分块摘要再次摘要</p>
+     *
+     * @param file      文件
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @param chunkSize 分块大小
+     * @return 分块摘要
+     */
+    public static TreeDigest hashFileTree(final File file,
+                                          final String algorithm,
+                                          final int chunkSize) {
+        if (file == null || chunkSize <= 0) {
+            return null;
+        }
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(file);
+            final FileChannel channel = fis.getChannel();
+            final long size = channel.size();
+            long count = size == 0 ? 1 : (size + chunkSize - 1) / chunkSize;
+            if (count > Integer.MAX_VALUE) {
+                return null;
+            }
+            List<Callable<byte[]>> tasks = new ArrayList<>((int) count);
+            for (long i = 0; i < count; i++) {
+                final long position = i * chunkSize;
+                final long len = Math.min(chunkSize, size - position);
+                tasks.add(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        return digestRegion(channel, position, len, algorithm);
+                    }
+                });
+            }
+            List<byte[]> chunks = invokeAll(tasks);
+            MessageDigest md = DIGEST_CACHE.obtain(algorithm);
+            for (byte[] chunk : chunks) {
+                md.update(chunk);
+            }
+            byte[] root = md.digest();
+            DIGEST_CACHE.recycle(algorithm, md);
+            return new TreeDigest(algorithm, chunkSize, size, root,
+                    chunks.toArray(new byte[chunks.size()][]));
+        } catch (IOException | GeneralSecurityException | ExecutionException e) {
+            e.printStackTrace();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            CloseUtils.closeQuietly(fis);
+        }
+    }
+
+    /**
+     * 单个分块摘要
+     * <p>用于单独校验 {@link TreeDigest} 中的某一分块</p>
+     *
+     * @param file      文件
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @param chunkSize 分块大小
+     * @param index     分块序号
+     * @return 分块摘要
+     */
+    public static byte[] hashFileChunk(final File file,
+                                       final String algorithm,
+                                       final int chunkSize,
+                                       final int index) {
+        if (file == null || chunkSize <= 0 || index < 0) {
+            return null;
+        }
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(file);
+            FileChannel channel = fis.getChannel();
+            long size = channel.size();
+            long position = (long) index * chunkSize;
+            if (position > size || (position == size && size != 0)) {
+                return null;
+            }
+            return digestRegion(channel, position, Math.min(chunkSize, size - position), algorithm);
+        } catch (IOException | GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            CloseUtils.closeQuietly(fis);
+        }
+    }
+
+    private static byte[] digestRegion(final FileChannel channel,
+                                       final long position,
+                                       final long len,
+                                       final String algorithm)
+            throws IOException, GeneralSecurityException {
+        MessageDigest md = DIGEST_CACHE.obtain(algorithm);
+        try {
+            // 按位置读取, 各分块可在同一通道上并行; 不使用内存映射以免耗尽32位进程的地址空间
+            ByteBuffer buffer = FILE_BUFFER.get();
+            long offset = position;
+            long end = position + len;
+            while (offset < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - offset));
+                int read = channel.read(buffer, offset);
+                if (read < 0) {
+                    throw new EOFException();
+                }
+                buffer.flip();
+                md.update(buffer);
+                offset += read;
+            }
+            return md.digest();
+        } finally {
+            DIGEST_CACHE.recycle(algorithm, md);
+        }
+    }
+
+    /**
+     * 分块摘要结果
+     */
+    public static final class TreeDigest {
+
+        private final String algorithm;
+        private final int chunkSize;
+        private final long length;
+        private final byte[] root;
+        private final byte[][] chunks;
+
+        TreeDigest(final String algorithm,
+                   final int chunkSize,
+                   final long length,
+                   final byte[] root,
+                   final byte[][] chunks) {
+            this.algorithm = algorithm;
+            this.chunkSize = chunkSize;
+            this.length = length;
+            this.root = root;
+            this.chunks = chunks;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public byte[] getRoot() {
+            return root.clone();
+        }
+
+        public String getRootString() {
+            return bytes2HexString(root);
+        }
+
+        public int getChunkCount() {
+            return chunks.length;
+        }
+
+        public byte[] getChunkDigest(final int index) {
+            return chunks[index].clone();
+        }
+
+        /**
+         * 校验单个分块
+         *
+         * @param index  分块序号
+         * @param digest 分块摘要
+         * @return true:一致/false:不一致
+         */
+        public boolean isChunkMatch(final int index, final byte[] digest) {
+            return index >= 0 && index < chunks.length && MessageDigest.isEqual(chunks[index], digest);
+        }
+
+        /**
+         * 对比出发生变化的分块
+         * <p>分块大小或算法不同时无法对比, 返回null</p>
+         *
+         * @param other 另一结果
+         * @return 变化分块序号
+         */
+        public int[] diff(final TreeDigest other) {
+            if (other == null || other.chunkSize != chunkSize || !other.algorithm.equals(algorithm)) {
+                return null;
+            }
+            int max = Math.max(chunks.length, other.chunks.length);
+            int[] ret = new int[max];
+            int count = 0;
+            for (int i = 0; i < max; i++) {
+                if (i >= chunks.length || i >= other.chunks.length
+                        || !MessageDigest.isEqual(chunks[i], other.chunks[i])) {
+                    ret[count++] = i;
+                }
+            }
+            return Arrays.copyOf(ret, count);
+        }
+    }
+
+    /*
+     *  ########## 目录清单相关 ##########
+     */
+
+    /**
+     * 目录清单
+     * <p>递归遍历目录, 在有界的I/O线程池上计算各文件摘要; 按文件大小降序调度,
+     * 避免单个大文件排在最后拖慢整体; 任一文件失败即取消其余任务</p>
+     *
+     * @param dir       目录
+     * @param algorithm 算法: <i>MD5</i>, <i>SHA-1</i>, <i>SHA-256</i>, <i>SHA-512</i>
+     * @return 按路径排序的清单, 失败返回null
+     */
+    public static Manifest hashDir(final File dir, final String algorithm) {
+        if (dir == null || !dir.isDirectory()) {
+            return null;
+        }
+        final List<File> files = new ArrayList<>();
+        final List<String> paths = new ArrayList<>();
+        try {
+            walkDir(dir, "", files, paths, new HashSet<String>());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+        final long[] sizes = new long[files.size()];
+        Integer[] order = new Integer[files.size()];
+        for (int i = 0; i < order.length; i++) {
+            sizes[i] = files.get(i).length();
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer o1, final Integer o2) {
+                long s1 = sizes[o1];
+                long s2 = sizes[o2];
+                return s1 < s2 ? 1 : s1 == s2 ? 0 : -1;
+            }
+        });
+        final String[] digests = new String[files.size()];
+        List<Callable<Void>> tasks = new ArrayList<>(order.length);
+        for (final int index : order) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    String digest = hashFile2String(files.get(index), algorithm);
+                    if (digest == null) {
+                        throw new IOException("Cannot hash " + files.get(index));
+                    }
+                    digests[index] = digest;
+                    return null;
+                }
+            });
+        }
+        try {
+            invokeAllIO(tasks);
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        List<ManifestEntry> entries = new ArrayList<>(files.size());
+        for (int i = 0; i < digests.length; i++) {
+            entries.add(new ManifestEntry(paths.get(i), sizes[i], digests[i]));
+        }
+        return new Manifest(algorithm, entries);
+    }
+
+    /**
+     * 解析 {@link Manifest#toString()} 输出的清单
+     *
+     * @param text 清单文本
+     * @return 清单, 格式错误返回null
+     */
+    public static Manifest parseManifest(final String text) {
+        if (text == null) {
+            return null;
+        }
+        String[] lines = text.split("\n");
+        if (lines.length == 0 || !lines[0].startsWith(Manifest.HEADER)) {
+            return null;
+        }
+        String algorithm = lines[0].substring(Manifest.HEADER.length());
+        List<ManifestEntry> entries = new ArrayList<>(lines.length - 1);
+        try {
+            for (int i = 1; i < lines.length; i++) {
+                if (lines[i].isEmpty()) {
+                    continue;
+                }
+                String[] fields = lines[i].split("\t", 3);
+                entries.add(new ManifestEntry(fields[2], Long.parseLong(fields[1]), fields[0]));
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return new Manifest(algorithm, entries);
+    }
+
+    /**
+     * 比较两份清单
+     *
+     * @param oldManifest 旧清单
+     * @param newManifest 新清单
+     * @return 差异
+     */
+    public static ManifestDiff diffManifest(final Manifest oldManifest, final Manifest newManifest) {
+        List<ManifestEntry> added = new ArrayList<>();
+        List<ManifestEntry> removed = new ArrayList<>();
+        List<ManifestEntry> changed = new ArrayList<>();
+        List<ManifestEntry> olds = oldManifest == null
+                ? Collections.<ManifestEntry>emptyList() : oldManifest.entries;
+        List<ManifestEntry> news = newManifest == null
+                ? Collections.<ManifestEntry>emptyList() : newManifest.entries;
+        boolean isSameAlgorithm = oldManifest == null || newManifest == null
+                || oldManifest.algorithm.equalsIgnoreCase(newManifest.algorithm);
+        // 两份清单均按路径排序, 归并比较
+        int i = 0;
+        int j = 0;
+        while (i < olds.size() || j < news.size()) {
+            int cmp = i == olds.size() ? 1 : j == news.size() ? -1
+                    : olds.get(i).path.compareTo(news.get(j).path);
+            if (cmp < 0) {
+                removed.add(olds.get(i++));
+            } else if (cmp > 0) {
+                added.add(news.get(j++));
+            } else {
+                ManifestEntry oldEntry = olds.get(i++);
+                ManifestEntry newEntry = news.get(j++);
+                if (oldEntry.size != newEntry.size || !isSameAlgorithm
+                        || !oldEntry.digest.equalsIgnoreCase(newEntry.digest)) {
+                    changed.add(newEntry);
+                }
+            }
+        }
+        return new ManifestDiff(added, removed, changed);
+    }
+
+    /**
+     * 目录清单
+     */
+    public static final class Manifest {
+
+        private static final String HEADER = "#manifest ";
+
+        private final String algorithm;
+        private final List<ManifestEntry> entries;
+
+        Manifest(final String algorithm, final List<ManifestEntry> entries) {
+            Collections.sort(entries, new Comparator<ManifestEntry>() {
+                @Override
+                public int compare(final ManifestEntry o1, final ManifestEntry o2) {
+                    return o1.path.compareTo(o2.path);
+                }
+            });
+            this.algorithm = algorithm;
+            this.entries = Collections.unmodifiableList(entries);
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * 获取按路径排序的条目
+         */
+        public List<ManifestEntry> getEntries() {
+            return entries;
+        }
+
+        /**
+         * 获取条目
+         *
+         * @param path 相对路径, 以 / 分隔
+         * @return 条目, 不存在返回null
+         */
+        public ManifestEntry get(final String path) {
+            int low = 0;
+            int high = entries.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = entries.get(mid).path.compareTo(path);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return entries.get(mid);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 输出清单文本, 可经 {@link EncryptUtils#parseManifest(String)} 解析
+         * <p>首行为算法, 其后每行为: 摘要	大小	相对路径</p>
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(HEADER).append(algorithm).append('\n');
+            for (ManifestEntry entry : entries) {
+                sb.append(entry.digest).append('\t').append(entry.size)
+                        .append('\t').append(entry.path).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * 目录清单条目
+     */
+    public static final class ManifestEntry {
+
+        private final String path;
+        private final long size;
+        private final String digest;
+
+        ManifestEntry(final String path, final long size, final String digest) {
+            this.path = path;
+            this.size = size;
+            this.digest = digest;
+        }
+
+        /**
+         * 获取相对路径, 以 / 分隔
+         */
+        public String getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getDigest() {
+            return digest;
+        }
+
+        @Override
+        public String toString() {
+            return path + " (" + size + ", " + digest + ")";
+        }
+    }
+
+    /**
+     * 目录清单差异
+     */
+    public static final class ManifestDiff {
+
+        private final List<ManifestEntry> added;
+        private final List<ManifestEntry> removed;
+        private final List<ManifestEntry> changed;
+
+        ManifestDiff(final List<ManifestEntry> added,
+                     final List<ManifestEntry> removed,
+                     final List<ManifestEntry> changed) {
+            this.added = added;
+            this.removed = removed;
+            this.changed = changed;
+        }
+
+        /**
+         * 获取新增的条目
+         */
+        public List<ManifestEntry> getAdded() {
+            return added;
+        }
+
+        /**
+         * 获取删除的条目 (旧清单中的条目)
+         */
+        public List<ManifestEntry> getRemoved() {
+            return removed;
+        }
+
+        /**
+         * 获取内容变化的条目 (新清单中的条目)
+         */
+        public List<ManifestEntry> getChanged() {
+            return changed;
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "ManifestDiff{added=" + added + ", removed=" + removed + ", changed=" + changed + "}";
+        }
+    }
+
+    /**
+     * 遍历目录, 跳过指向已访问目录的符号链接以免循环
+     */
+    private static void walkDir(final File dir,
+                                final String prefix,
+                                final List<File> files,
+                                final List<String> paths,
+                                final Set<String> visited) throws IOException {
+        if (!visited.add(dir.getCanonicalPath())) {
+            return;
+        }
+        File[] children = dir.listFiles();
+        if (children == null) {
+            throw new IOException("Cannot list " + dir);
+        }
+        for (File child : children) {
+            String path = prefix + child.getName();
+            if (child.isDirectory()) {
+                walkDir(child, path + "/", files, paths, visited);
+            } else if (child.isFile()) {
+                files.add(child);
+                paths.add(path);
+            }
+        }
+    }
+
+    /*
+     *  ########## DES相关 ##########
+     */
+
+    /**
+     * DES加密(Base64)
+     *
+     * @param data           明文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 密文
+     */
+    public static byte[] encryptDES2Base64(final byte[] data,
+                                           final byte[] key,
+                                           final String transformation) {
+        return base64Encode(encryptDES(data, key, transformation));
+    }
+
+    /**
+     * DES加密(Hex)
+     *
+     * @param data           明文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 密文
+     */
+    public static String encryptDES2HexString(final byte[] data,
+                                              final byte[] key,
+                                              final String transformation) {
+        return bytes2HexString(encryptDES(data, key, transformation));
+    }
+
+    /**
+     * DES加密
+     *
+     * @param data           明文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 密文
+     */
+    public static byte[] encryptDES(final byte[] data,
+                                    final byte[] key,
+                                    final String transformation) {
+        return symmetricTemplate(data, key, "DES", transformation, true);
+    }
+
+    /**
+     * DES解密(Base64)
+     *
+     * @param data           密文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 明文
+     */
+    public static byte[] decryptBase64DES(final byte[] data,
+                                          final byte[] key,
+                                          final String transformation) {
+        return decryptDES(base64Decode(data), key, transformation);
+    }
+
+    /**
+     * DES解密(Hex)
+     *
+     * @param data           密文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 明文
+     */
+    public static byte[] decryptHexStringDES(final String data,
+                                             final byte[] key,
+                                             final String transformation) {
+        return decryptDES(hexString2Bytes(data), key, transformation);
+    }
+
+    /**
+     * DES解密(Hex)
+     *
+     * @param data           密文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 明文
+     */
+    public static byte[] decryptDES(final byte[] data,
+                                    final byte[] key,
+                                    final String transformation) {
+        return symmetricTemplate(data, key, "DES", transformation, false);
+    }
+
+    /**
+     * DES加密
+     *
+     * @param data           明文
+     * @param offset         起始位置
+     * @param len            长度
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 密文
+     */
+    public static byte[] encryptDES(final byte[] data,
+                                    final int offset,
+                                    final int len,
+                                    final byte[] key,
+                                    final String transformation,
+                                    final byte[] iv) {
+        return symmetricTemplate(data, offset, len, key, "DES", transformation, iv, true);
+    }
+
+    /**
+     * DES加密
+     * <p>输出写入调用方数组, 可与输入为同一数组以原地加密</p>
+     *
+     * @param input          明文
+     * @param inputOffset    起始位置
+     * @param len            长度
+     * @param output         密文数组
+     * @param outputOffset   输出起始位置
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int encryptDES(final byte[] input,
+                                 final int inputOffset,
+                                 final int len,
+                                 final byte[] output,
+                                 final int outputOffset,
+                                 final byte[] key,
+                                 final String transformation,
+                                 final byte[] iv) {
+        return symmetricTemplate(input, inputOffset, len, output, outputOffset,
+                key, "DES", transformation, iv, true);
+    }
+
+    /**
+     * DES加密
+     * <p>输出写入调用方缓冲区, 所需空间见 {@link #getSymmetricOutputSize}</p>
+     *
+     * @param input          明文, 读取position至limit
+     * @param output         密文缓冲区
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int encryptDES(final ByteBuffer input,
+                                 final ByteBuffer output,
+                                 final byte[] key,
+                                 final String transformation,
+                                 final byte[] iv) {
+        return symmetricTemplate(input, output, key, "DES", transformation, iv, true);
+    }
+
+    /**
+     * DES解密
+     *
+     * @param data           密文
+     * @param offset         起始位置
+     * @param len            长度
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 明文
+     */
+    public static byte[] decryptDES(final byte[] data,
+                                    final int offset,
+                                    final int len,
+                                    final byte[] key,
+                                    final String transformation,
+                                    final byte[] iv) {
+        return symmetricTemplate(data, offset, len, key, "DES", transformation, iv, false);
+    }
+
+    /**
+     * DES解密
+     * <p>输出写入调用方数组, 可与输入为同一数组以原地解密</p>
+     *
+     * @param input          密文
+     * @param inputOffset    起始位置
+     * @param len            长度
+     * @param output         明文数组
+     * @param outputOffset   输出起始位置
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int decryptDES(final byte[] input,
+                                 final int inputOffset,
+                                 final int len,
+                                 final byte[] output,
+                                 final int outputOffset,
+                                 final byte[] key,
+                                 final String transformation,
+                                 final byte[] iv) {
+        return symmetricTemplate(input, inputOffset, len, output, outputOffset,
+                key, "DES", transformation, iv, false);
+    }
+
+    /**
+     * DES解密
+     * <p>输出写入调用方缓冲区, 所需空间见 {@link #getSymmetricOutputSize}</p>
+     *
+     * @param input          密文, 读取position至limit
+     * @param output         明文缓冲区
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int decryptDES(final ByteBuffer input,
+                                 final ByteBuffer output,
+                                 final byte[] key,
+                                 final String transformation,
+                                 final byte[] iv) {
+        return symmetricTemplate(input, output, key, "DES", transformation, iv, false);
+    }
+
+    /*
+     *  ########## AES相关 ##########
+     */
+
+    /**
+     * AES加密(Base64)
+     *
+     * @param data           明文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 密文
+     */
+    public static byte[] encryptAES2Base64(final byte[] data,
+                                           final byte[] key,
+                                           final String transformation) {
+        return base64Encode(encryptAES(data, key, transformation));
+    }
+
+    /**
+     * AES加密(Hex)
+     *
+     * @param data           明文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 密文
+     */
+    public static String encryptAES2HexString(final byte[] data,
+                                              final byte[] key,
+                                              final String transformation) {
+        return bytes2HexString(encryptAES(data, key, transformation));
+    }
+
+    /**
+     * AES加密
+     *
+     * @param data           明文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 密文
+     */
+    public static byte[] encryptAES(final byte[] data,
+                                    final byte[] key,
+                                    final String transformation) {
+        return symmetricTemplate(data, key, "AES", transformation, true);
+    }
+
+    /**
+     * AES解密(Base64)
+     *
+     * @param data           密文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 明文
+     */
+    public static byte[] decryptBase64AES(final byte[] data,
+                                          final byte[] key,
+                                          final String transformation) {
+        return decryptAES(base64Decode(data), key, transformation);
+    }
+
+    /**
+     * AES解密(Hex)
+     *
+     * @param data           密文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 明文
+     */
+    public static byte[] decryptHexStringAES(final String data,
+                                             final byte[] key,
+                                             final String transformation) {
+        return decryptAES(hexString2Bytes(data), key, transformation);
+    }
+
+    /**
+     * AES解密
+     *
+     * @param data           密文
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 明文
+     */
+    public static byte[] decryptAES(final byte[] data,
+                                    final byte[] key,
+                                    final String transformation) {
+        return symmetricTemplate(data, key, "AES", transformation, false);
+    }
+
+    /**
+     * AES加密
+     *
+     * @param data           明文
+     * @param offset         起始位置
+     * @param len            长度
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 密文
+     */
+    public static byte[] encryptAES(final byte[] data,
+                                    final int offset,
+                                    final int len,
+                                    final byte[] key,
+                                    final String transformation,
+                                    final byte[] iv) {
+        return symmetricTemplate(data, offset, len, key, "AES", transformation, iv, true);
+    }
+
+    /**
+     * AES加密
+     * <p>输出写入调用方数组, 可与输入为同一数组以原地加密</p>
+     *
+     * @param input          明文
+     * @param inputOffset    起始位置
+     * @param len            长度
+     * @param output         密文数组
+     * @param outputOffset   输出起始位置
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int encryptAES(final byte[] input,
+                                 final int inputOffset,
+                                 final int len,
+                                 final byte[] output,
+                                 final int outputOffset,
+                                 final byte[] key,
+                                 final String transformation,
+                                 final byte[] iv) {
+        return symmetricTemplate(input, inputOffset, len, output, outputOffset,
+                key, "AES", transformation, iv, true);
+    }
+
+    /**
+     * AES加密
+     * <p>输出写入调用方缓冲区, 所需空间见 {@link #getSymmetricOutputSize}</p>
+     *
+     * @param input          明文, 读取position至limit
+     * @param output         密文缓冲区
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int encryptAES(final ByteBuffer input,
+                                 final ByteBuffer output,
+                                 final byte[] key,
+                                 final String transformation,
+                                 final byte[] iv) {
+        return symmetricTemplate(input, output, key, "AES", transformation, iv, true);
+    }
+
+    /**
+     * AES解密
+     *
+     * @param data           密文
+     * @param offset         起始位置
+     * @param len            长度
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 明文
+     */
+    public static byte[] decryptAES(final byte[] data,
+                                    final int offset,
+                                    final int len,
+                                    final byte[] key,
+                                    final String transformation,
+                                    final byte[] iv) {
+        return symmetricTemplate(data, offset, len, key, "AES", transformation, iv, false);
+    }
+
+    /**
+     * AES解密
+     * <p>输出写入调用方数组, 可与输入为同一数组以原地解密</p>
+     *
+     * @param input          密文
+     * @param inputOffset    起始位置
+     * @param len            长度
+     * @param output         明文数组
+     * @param outputOffset   输出起始位置
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int decryptAES(final byte[] input,
+                                 final int inputOffset,
+                                 final int len,
+                                 final byte[] output,
+                                 final int outputOffset,
+                                 final byte[] key,
+                                 final String transformation,
+                                 final byte[] iv) {
+        return symmetricTemplate(input, inputOffset, len, output, outputOffset,
+                key, "AES", transformation, iv, false);
+    }
+
+    /**
+     * AES解密
+     * <p>输出写入调用方缓冲区, 所需空间见 {@link #getSymmetricOutputSize}</p>
+     *
+     * @param input          密文, 读取position至limit
+     * @param output         明文缓冲区
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, ECB模式传null
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int decryptAES(final ByteBuffer input,
+                                 final ByteBuffer output,
+                                 final byte[] key,
+                                 final String transformation,
+                                 final byte[] iv) {
+        return symmetricTemplate(input, output, key, "AES", transformation, iv, false);
+    }
+
+    /**
+     * 获取对称加解密所需的最大输出长度
+     *
+     * @param len            输入长度
+     * @param blockSize      分组长度: AES为16, DES为8
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>.
+     * @param isEncrypt      是否为加密
+     * @return 输出长度
+     */
+    public static int getSymmetricOutputSize(final int len,
+                                             final int blockSize,
+                                             final String transformation,
+                                             final boolean isEncrypt) {
+        String mode = getCipherMode(transformation);
+        if ("GCM".equals(mode)) {
+            return isEncrypt ? len + GCM_TAG_LENGTH : Math.max(0, len - GCM_TAG_LENGTH);
+        }
+        if (!isEncrypt || transformation.toUpperCase(Locale.US).contains("NOPADDING")) {
+            return len;
+        }
+        return (len / blockSize + 1) * blockSize;
+    }
+
+    private static byte[] symmetricTemplate(final byte[] data,
+                                            final byte[] key,
+                                            final String algorithm,
+                                            final String transformation,
+                                            final boolean isEncrypt) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        return symmetricTemplate(data, 0, data.length, key, algorithm, transformation, null, isEncrypt);
+    }
+
+    private static byte[] symmetricTemplate(final byte[] data,
+                                            final int offset,
+                                            final int len,
+                                            final byte[] key,
+                                            final String algorithm,
+                                            final String transformation,
+                                            final byte[] iv,
+                                            final boolean isEncrypt) {
+        if (isOutOfBounds(data, offset, len) || len == 0 || key == null || key.length == 0) {
+            return null;
+        }
+        Cipher cipher = null;
+        try {
+            cipher = CIPHER_CACHE.obtain(transformation);
+            initCipher(cipher, isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE,
+                    key, algorithm, transformation, iv);
+            return cipher.doFinal(data, offset, len);
+        } catch (Throwable e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            CIPHER_CACHE.recycle(transformation, cipher);
+        }
+    }
+
+    private static int symmetricTemplate(final byte[] input,
+                                         final int inputOffset,
+                                         final int len,
+                                         final byte[] output,
+                                         final int outputOffset,
+                                         final byte[] key,
+                                         final String algorithm,
+                                         final String transformation,
+                                         final byte[] iv,
+                                         final boolean isEncrypt) {
+        if (isOutOfBounds(input, inputOffset, len) || len == 0
+                || isOutOfBounds(output, outputOffset, 0) || key == null || key.length == 0) {
+            return -1;
+        }
+        Cipher cipher = null;
+        try {
+            cipher = CIPHER_CACHE.obtain(transformation);
+            initCipher(cipher, isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE,
+                    key, algorithm, transformation, iv);
+            return cipher.doFinal(input, inputOffset, len, output, outputOffset);
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return -1;
+        } finally {
+            CIPHER_CACHE.recycle(transformation, cipher);
+        }
+    }
+
+    private static int symmetricTemplate(final ByteBuffer input,
+                                         final ByteBuffer output,
+                                         final byte[] key,
+                                         final String algorithm,
+                                         final String transformation,
+                                         final byte[] iv,
+                                         final boolean isEncrypt) {
+        if (input == null || output == null || !input.hasRemaining() || key == null || key.length == 0) {
+            return -1;
+        }
+        Cipher cipher = null;
+        try {
+            cipher = CIPHER_CACHE.obtain(transformation);
+            initCipher(cipher, isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE,
+                    key, algorithm, transformation, iv);
+            return cipher.doFinal(input, output);
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return -1;
+        } finally {
+            CIPHER_CACHE.recycle(transformation, cipher);
+        }
+    }
+
+    /*
+     *  ########## 流式加解密相关 ##########
+     */
+
+    /**
+     * AES流式加密
+     * <p>读取至输入流末尾, 不关闭流</p>
+     *
+     * @param is             明文输入流
+     * @param os             密文输出流
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>, 不支持GCM等AEAD模式.
+     * @param iv             初始向量, 为null时随机生成并写在密文头部
+     * @return true:成功/false:失败
+     */
+    public static boolean encryptAES(final InputStream is,
+                                     final OutputStream os,
+                                     final byte[] key,
+                                     final String transformation,
+                                     final byte[] iv) {
+        return symmetricStreamTemplate(is, os, key, "AES", transformation, iv, true);
+    }
+
+    /**
+     * AES流式加密
+     *
+     * @param src            明文通道
+     * @param dest           密文通道
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>, 不支持GCM等AEAD模式.
+     * @param iv             初始向量, 为null时随机生成并写在密文头部
+     * @return true:成功/false:失败
+     */
+    public static boolean encryptAES(final FileChannel src,
+                                     final FileChannel dest,
+                                     final byte[] key,
+                                     final String transformation,
+                                     final byte[] iv) {
+        return symmetricChannelTemplate(src, dest, key, "AES", transformation, iv, true);
+    }
+
+    /**
+     * AES文件加密
+     *
+     * @param src            明文文件
+     * @param dest           密文文件
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>, 不支持GCM等AEAD模式.
+     * @param iv             初始向量, 为null时随机生成并写在密文头部
+     * @return true:成功/false:失败
+     */
+    public static boolean encryptAESFile(final File src,
+                                         final File dest,
+                                         final byte[] key,
+                                         final String transformation,
+                                         final byte[] iv) {
+        return symmetricFileTemplate(src, dest, key, "AES", transformation, iv, true);
+    }
+
+    /**
+     * AES流式解密
+     * <p>读取至输入流末尾, 不关闭流</p>
+     *
+     * @param is             密文输入流
+     * @param os             明文输出流
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>, 不支持GCM等AEAD模式.
+     * @param iv             初始向量, 为null时从密文头部读取
+     * @return true:成功/false:失败
+     */
+    public static boolean decryptAES(final InputStream is,
+                                     final OutputStream os,
+                                     final byte[] key,
+                                     final String transformation,
+                                     final byte[] iv) {
+        return symmetricStreamTemplate(is, os, key, "AES", transformation, iv, false);
+    }
+
+    /**
+     * AES流式解密
+     *
+     * @param src            密文通道
+     * @param dest           明文通道
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>, 不支持GCM等AEAD模式.
+     * @param iv             初始向量, 为null时从密文头部读取
+     * @return true:成功/false:失败
+     */
+    public static boolean decryptAES(final FileChannel src,
+                                     final FileChannel dest,
+                                     final byte[] key,
+                                     final String transformation,
+                                     final byte[] iv) {
+        return symmetricChannelTemplate(src, dest, key, "AES", transformation, iv, false);
+    }
+
+    /**
+     * AES文件解密
+     *
+     * @param src            密文文件
+     * @param dest           明文文件
+     * @param key            秘钥
+     * @param transformation 转换: <i>AES/CBC/PKCS5Padding</i>, 不支持GCM等AEAD模式.
+     * @param iv             初始向量, 为null时从密文头部读取
+     * @return true:成功/false:失败
+     */
+    public static boolean decryptAESFile(final File src,
+                                         final File dest,
+                                         final byte[] key,
+                                         final String transformation,
+                                         final byte[] iv) {
+        return symmetricFileTemplate(src, dest, key, "AES", transformation, iv, false);
+    }
+
+    /**
+     * DES流式加密
+     * <p>读取至输入流末尾, 不关闭流</p>
+     *
+     * @param is             明文输入流
+     * @param os             密文输出流
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, 为null时随机生成并写在密文头部
+     * @return true:成功/false:失败
+     */
+    public static boolean encryptDES(final InputStream is,
+                                     final OutputStream os,
+                                     final byte[] key,
+                                     final String transformation,
+                                     final byte[] iv) {
+        return symmetricStreamTemplate(is, os, key, "DES", transformation, iv, true);
+    }
+
+    /**
+     * DES流式加密
+     *
+     * @param src            明文通道
+     * @param dest           密文通道
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, 为null时随机生成并写在密文头部
+     * @return true:成功/false:失败
+     */
+    public static boolean encryptDES(final FileChannel src,
+                                     final FileChannel dest,
+                                     final byte[] key,
+                                     final String transformation,
+                                     final byte[] iv) {
+        return symmetricChannelTemplate(src, dest, key, "DES", transformation, iv, true);
+    }
+
+    /**
+     * DES文件加密
+     *
+     * @param src            明文文件
+     * @param dest           密文文件
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, 为null时随机生成并写在密文头部
+     * @return true:成功/false:失败
+     */
+    public static boolean encryptDESFile(final File src,
+                                         final File dest,
+                                         final byte[] key,
+                                         final String transformation,
+                                         final byte[] iv) {
+        return symmetricFileTemplate(src, dest, key, "DES", transformation, iv, true);
+    }
+
+    /**
+     * DES流式解密
+     * <p>读取至输入流末尾, 不关闭流</p>
+     *
+     * @param is             密文输入流
+     * @param os             明文输出流
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, 为null时从密文头部读取
+     * @return true:成功/false:失败
+     */
+    public static boolean decryptDES(final InputStream is,
+                                     final OutputStream os,
+                                     final byte[] key,
+                                     final String transformation,
+                                     final byte[] iv) {
+        return symmetricStreamTemplate(is, os, key, "DES", transformation, iv, false);
+    }
+
+    /**
+     * DES流式解密
+     *
+     * @param src            密文通道
+     * @param dest           明文通道
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, 为null时从密文头部读取
+     * @return true:成功/false:失败
+     */
+    public static boolean decryptDES(final FileChannel src,
+                                     final FileChannel dest,
+                                     final byte[] key,
+                                     final String transformation,
+                                     final byte[] iv) {
+        return symmetricChannelTemplate(src, dest, key, "DES", transformation, iv, false);
+    }
+
+    /**
+     * DES文件解密
+     *
+     * @param src            密文文件
+     * @param dest           明文文件
+     * @param key            秘钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @param iv             初始向量, 为null时从密文头部读取
+     * @return true:成功/false:失败
+     */
+    public static boolean decryptDESFile(final File src,
+                                         final File dest,
+                                         final byte[] key,
+                                         final String transformation,
+                                         final byte[] iv) {
+        return symmetricFileTemplate(src, dest, key, "DES", transformation, iv, false);
+    }
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * GCM认证标签位数
+     */
+    private static final int GCM_TAG_BITS = 128;
+    /**
+     * GCM推荐初始向量长度
+     */
+    private static final int GCM_IV_LENGTH = 12;
+
+    private static final ThreadLocal<ByteBuffer> CIPHER_BUFFER = new ThreadLocal<ByteBuffer>() {
+        @Override
+        protected ByteBuffer initialValue() {
+            return ByteBuffer.allocateDirect(FILE_BUFFER_SIZE + 1024);
+        }
+    };
+
+    private static final ThreadLocal<byte[]> CIPHER_STREAM_BUFFER = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[FILE_BUFFER_SIZE + 1024];
+        }
+    };
+
+    private static String getCipherMode(final String transformation) {
+        String[] parts = transformation.split("/");
+        return parts.length > 1 ? parts[1].toUpperCase(Locale.US) : "ECB";
+    }
+
+    private static boolean isAEADMode(final String transformation) {
+        String mode = getCipherMode(transformation);
+        return "GCM".equals(mode) || "CCM".equals(mode)
+                || transformation.toUpperCase(Locale.US).contains("POLY1305");
+    }
+
+    private static boolean isIVRequired(final String transformation) {
+        return !"ECB".equals(getCipherMode(transformation));
+    }
+
+    private static int getIVLength(final Cipher cipher, final String transformation) {
+        return "GCM".equals(getCipherMode(transformation)) ? GCM_IV_LENGTH : cipher.getBlockSize();
+    }
+
+    private static void initCipher(final Cipher cipher,
+                                   final int mode,
+                                   final byte[] key,
+                                   final String algorithm,
+                                   final String transformation,
+                                   final byte[] iv) throws GeneralSecurityException {
+        SecretKeySpec keySpec = new SecretKeySpec(key, algorithm);
+        if (iv == null) {
+            cipher.init(mode, keySpec);
+        } else if ("GCM".equals(getCipherMode(transformation))
+                && Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            cipher.init(mode, keySpec, new GCMParameterSpec(GCM_TAG_BITS, iv));
+        } else {
+            cipher.init(mode, keySpec, new IvParameterSpec(iv));
+        }
+    }
+
+    /**
+     * 初始化流式Cipher, iv为null且模式需要初始向量时在流头部写入/读取
+     * <p>AEAD模式的Cipher在update时缓存全部输入(Conscrypt加解密及JDK解密均如此), 无法以固定内存流式处理,
+     * 大文件请使用 {@link #encryptAESGCMChunkedFile(File, File, byte[])}</p>
+     */
+    private static Cipher obtainStreamCipher(final InputStream is,
+                                             final OutputStream os,
+                                             final byte[] key,
+                                             final String algorithm,
+                                             final String transformation,
+                                             final byte[] iv,
+                                             final boolean isEncrypt)
+            throws IOException, GeneralSecurityException {
+        if (isAEADMode(transformation)) {
+            throw new InvalidAlgorithmParameterException("AEAD mode can't be streamed: " + transformation);
+        }
+        Cipher cipher = CIPHER_CACHE.obtain(transformation);
+        try {
+            byte[] ivBytes = iv;
+            boolean isIVPrefix = ivBytes == null && isIVRequired(transformation);
+            if (isIVPrefix) {
+                ivBytes = new byte[getIVLength(cipher, transformation)];
+                if (isEncrypt) {
+                    RANDOM.nextBytes(ivBytes);
+                } else {
+                    readFully(is, ivBytes);
+                }
+            }
+            initCipher(cipher, isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE,
+                    key, algorithm, transformation, ivBytes);
+            // 初始化成功后再写入初始向量, 避免失败时输出残缺的头部
+            if (isIVPrefix && isEncrypt) {
+                os.write(ivBytes);
+            }
+            return cipher;
+        } catch (IOException | GeneralSecurityException e) {
+            CIPHER_CACHE.recycle(transformation, cipher);
+            throw e;
+        }
+    }
+
+    private static boolean symmetricStreamTemplate(final InputStream is,
+                                                   final OutputStream os,
+                                                   final byte[] key,
+                                                   final String algorithm,
+                                                   final String transformation,
+                                                   final byte[] iv,
+                                                   final boolean isEncrypt) {
+        if (is == null || os == null || key == null || key.length == 0) {
+            return false;
+        }
+        Cipher cipher = null;
+        try {
+            cipher = obtainStreamCipher(is, os, key, algorithm, transformation, iv, isEncrypt);
+            byte[] in = STREAM_BUFFER.get();
+            byte[] out = CIPHER_STREAM_BUFFER.get();
+            int len;
+            while ((len = is.read(in)) != -1) {
+                int size = cipher.getOutputSize(len);
+                if (size > out.length) {
+                    // 仅个别Provider会超出预留空间, 扩容后复用
+                    out = new byte[size];
+                    CIPHER_STREAM_BUFFER.set(out);
+                }
+                int outLen = cipher.update(in, 0, len, out, 0);
+                if (outLen > 0) {
+                    os.write(out, 0, outLen);
+                }
+            }
+            byte[] last = cipher.doFinal();
+            if (last != null && last.length > 0) {
+                os.write(last);
+            }
+            os.flush();
+            return true;
+        } catch (IOException | GeneralSecurityException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            CIPHER_CACHE.recycle(transformation, cipher);
+        }
+    }
+
+    private static boolean symmetricChannelTemplate(final FileChannel src,
+                                                    final FileChannel dest,
+                                                    final byte[] key,
+                                                    final String algorithm,
+                                                    final String transformation,
+                                                    final byte[] iv,
+                                                    final boolean isEncrypt) {
+        if (src == null || dest == null || key == null || key.length == 0) {
+            return false;
+        }
+        Cipher cipher = null;
+        try {
+            cipher = obtainStreamCipher(Channels.newInputStream(src), Channels.newOutputStream(dest),
+                    key, algorithm, transformation, iv, isEncrypt);
+            ByteBuffer in = FILE_BUFFER.get();
+            ByteBuffer out = CIPHER_BUFFER.get();
+            in.clear();
+            while (src.read(in) != -1) {
+                in.flip();
+                out = obtainCipherBuffer(out, cipher.getOutputSize(in.remaining()));
+                cipher.update(in, out);
+                writeFully(dest, out);
+                in.clear();
+            }
+            in.flip();
+            out = obtainCipherBuffer(out, cipher.getOutputSize(0));
+            cipher.doFinal(in, out);
+            writeFully(dest, out);
+            return true;
+        } catch (IOException | GeneralSecurityException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            CIPHER_CACHE.recycle(transformation, cipher);
+        }
+    }
+
+    private static boolean symmetricFileTemplate(final File src,
+                                                 final File dest,
+                                                 final byte[] key,
+                                                 final String algorithm,
+                                                 final String transformation,
+                                                 final byte[] iv,
+                                                 final boolean isEncrypt) {
+        if (src == null || dest == null) {
+            return false;
+        }
+        FileInputStream fis = null;
+        FileOutputStream fos = null;
+        boolean ret = false;
+        try {
+            fis = new FileInputStream(src);
+            fos = new FileOutputStream(dest);
+            ret = symmetricChannelTemplate(fis.getChannel(), fos.getChannel(),
+                    key, algorithm, transformation, iv, isEncrypt);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            CloseUtils.closeQuietly(fis, fos);
+            if (!ret) {
+                //noinspection ResultOfMethodCallIgnored
+                dest.delete();
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * 清空并返回输出缓冲, 仅个别Provider会超出预留空间, 扩容后复用
+     */
+    private static ByteBuffer obtainCipherBuffer(final ByteBuffer buffer, final int size) {
+        if (size <= buffer.capacity()) {
+            buffer.clear();
+            return buffer;
+        }
+        ByteBuffer ret = ByteBuffer.allocateDirect(size);
+        CIPHER_BUFFER.set(ret);
+        return ret;
+    }
+
+    private static void readFully(final InputStream is, final byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int len = is.read(buffer, offset, buffer.length - offset);
+            if (len == -1) {
+                throw new EOFException();
+            }
+            offset += len;
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /*
+     *  ########## 加解密摘要相关 ##########
+     */
+
+    /**
+     * AES流式加密, 同时计算明文及密文摘要
+     * <p>只读取一遍输入, 读取至输入流末尾, 不关闭流</p>
+     *
+     * @param is              明文输入流
+     * @param os              密文输出流
+     * @param key             秘钥
+     * @param transformation  转换: <i>AES/CBC/PKCS5Padding</i>, 不支持GCM等AEAD模式.
+     * @param iv              初始向量, 为null时随机生成并写在密文头部
+     * @param plainAlgorithm  明文摘要算法, 为null时不计算
+     * @param cipherAlgorithm 密文摘要算法, 为null时不计算; 含头部初始向量, 与输出文件摘要一致
+     * @return 摘要, 失败返回null
+     */
+    public static CipherDigest encryptAESWithDigest(final InputStream is,
+                                                    final OutputStream os,
+                                                    final byte[] key,
+                                                    final String transformation,
+                                                    final byte[] iv,
+                                                    final String plainAlgorithm,
+                                                    final String cipherAlgorithm) {
+        return cipherDigestTemplate(is, os, key, "AES", transformation, iv, true,
+                plainAlgorithm, cipherAlgorithm);
+    }
+
+    /**
+     * AES流式解密, 同时计算明文及密文摘要
+     * <p>只读取一遍输入, 读取至输入流末尾, 不关闭流</p>
+     *
+     * @param is              密文输入流
+     * @param os              明文输出流
+     * @param key             秘钥
+     * @param transformation  转换: <i>AES/CBC/PKCS5Padding</i>, 不支持GCM等AEAD模式.
+     * @param iv              初始向量, 为null时从密文头部读取
+     * @param plainAlgorithm  明文摘要算法, 为null时不计算
+     * @param cipherAlgorithm 密文摘要算法, 为null时不计算; 含头部初始向量, 与输入文件摘要一致
+     * @return 摘要, 失败返回null
+     */
+    public static CipherDigest decryptAESWithDigest(final InputStream is,
+                                                    final OutputStream os,
+                                                    final byte[] key,
+                                                    final String transformation,
+                                                    final byte[] iv,
+                                                    final String plainAlgorithm,
+                                                    final String cipherAlgorithm) {
+        return cipherDigestTemplate(is, os, key, "AES", transformation, iv, false,
+                plainAlgorithm, cipherAlgorithm);
+    }
+
+    /**
+     * AES文件加密, 同时计算明文及密文摘要
+     *
+     * @param src             明文文件
+     * @param dest            密文文件
+     * @param key             秘钥
+     * @param transformation  转换: <i>AES/CBC/PKCS5Padding</i>, 不支持GCM等AEAD模式.
+     * @param iv              初始向量, 为null时随机生成并写在密文头部
+     * @param plainAlgorithm  明文摘要算法, 为null时不计算
+     * @param cipherAlgorithm 密文摘要算法, 为null时不计算
+     * @return 摘要, 失败返回null
+     */
+    public static CipherDigest encryptAESFileWithDigest(final File src,
+                                                        final File dest,
+                                                        final byte[] key,
+                                                        final String transformation,
+                                                        final byte[] iv,
+                                                        final String plainAlgorithm,
+                                                        final String cipherAlgorithm) {
+        return cipherDigestFileTemplate(src, dest, key, "AES", transformation, iv, true,
+                plainAlgorithm, cipherAlgorithm);
+    }
+
+    /**
+     * AES文件解密, 同时计算明文及密文摘要
+     *
+     * @param src             密文文件
+     * @param dest            明文文件
+     * @param key             秘钥
+     * @param transformation  转换: <i>AES/CBC/PKCS5Padding</i>, 不支持GCM等AEAD模式.
+     * @param iv              初始向量, 为null时从密文头部读取
+     * @param plainAlgorithm  明文摘要算法, 为null时不计算
+     * @param cipherAlgorithm 密文摘要算法, 为null时不计算
+     * @return 摘要, 失败返回null
+     */
+    public static CipherDigest decryptAESFileWithDigest(final File src,
+                                                        final File dest,
+                                                        final byte[] key,
+                                                        final String transformation,
+                                                        final byte[] iv,
+                                                        final String plainAlgorithm,
+                                                        final String cipherAlgorithm) {
+        return cipherDigestFileTemplate(src, dest, key, "AES", transformation, iv, false,
+                plainAlgorithm, cipherAlgorithm);
+    }
+
+    /**
+     * 加解密摘要结果
+     */
+    public static final class CipherDigest {
+
+        private final byte[] plainDigest;
+        private final byte[] cipherDigest;
+
+        CipherDigest(final byte[] plainDigest, final byte[] cipherDigest) {
+            this.plainDigest = plainDigest;
+            this.cipherDigest = cipherDigest;
+        }
+
+        /**
+         * 获取明文摘要, 未指定算法时为null
+         */
+        public byte[] getPlainDigest() {
+            return plainDigest == null ? null : plainDigest.clone();
+        }
+
+        public String getPlainDigestString() {
+            return plainDigest == null ? null : bytes2HexString(plainDigest);
+        }
+
+        /**
+         * 获取密文摘要, 未指定算法时为null
+         */
+        public byte[] getCipherDigest() {
+            return cipherDigest == null ? null : cipherDigest.clone();
+        }
+
+        public String getCipherDigestString() {
+            return cipherDigest == null ? null : bytes2HexString(cipherDigest);
+        }
+
+        @Override
+        public String toString() {
+            return "CipherDigest{plain=" + getPlainDigestString() + ", cipher=" + getCipherDigestString() + "}";
+        }
+    }
+
+    private static CipherDigest cipherDigestTemplate(final InputStream is,
+                                                     final OutputStream os,
+                                                     final byte[] key,
+                                                     final String algorithm,
+                                                     final String transformation,
+                                                     final byte[] iv,
+                                                     final boolean isEncrypt,
+                                                     final String plainAlgorithm,
+                                                     final String cipherAlgorithm) {
+        if (is == null || os == null) {
+            return null;
+        }
+        MessageDigest plain = null;
+        MessageDigest cipher = null;
+        try {
+            plain = plainAlgorithm == null ? null : DIGEST_CACHE.obtain(plainAlgorithm);
+            cipher = cipherAlgorithm == null ? null : DIGEST_CACHE.obtain(cipherAlgorithm);
+            // 加密时明文为输入, 解密时明文为输出
+            MessageDigest in = isEncrypt ? plain : cipher;
+            MessageDigest out = isEncrypt ? cipher : plain;
+            InputStream input = in == null ? is : new DigestInputStream(is, in);
+            OutputStream output = out == null ? os : new DigestOutputStream(os, out);
+            if (!symmetricStreamTemplate(input, output, key, algorithm, transformation, iv, isEncrypt)) {
+                return null;
+            }
+            return new CipherDigest(plain == null ? null : plain.digest(),
+                    cipher == null ? null : cipher.digest());
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (plain != null) {
+                DIGEST_CACHE.recycle(plainAlgorithm, plain);
+            }
+            if (cipher != null) {
+                DIGEST_CACHE.recycle(cipherAlgorithm, cipher);
+            }
+        }
+    }
+
+    private static CipherDigest cipherDigestFileTemplate(final File src,
+                                                         final File dest,
+                                                         final byte[] key,
+                                                         final String algorithm,
+                                                         final String transformation,
+                                                         final byte[] iv,
+                                                         final boolean isEncrypt,
+                                                         final String plainAlgorithm,
+                                                         final String cipherAlgorithm) {
+        if (src == null || dest == null) {
+            return null;
+        }
+        FileInputStream fis = null;
+        FileOutputStream fos = null;
+        CipherDigest ret = null;
+        try {
+            fis = new FileInputStream(src);
+            fos = new FileOutputStream(dest);
+            ret = cipherDigestTemplate(fis, fos, key, algorithm, transformation, iv, isEncrypt,
+                    plainAlgorithm, cipherAlgorithm);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            CloseUtils.closeQuietly(fis, fos);
+            if (ret == null) {
+                //noinspection ResultOfMethodCallIgnored
+                dest.delete();
+            }
+        }
+        return ret;
+    }
+
+    /*
+     *  ########## 并行AES相关 ##########
+     */
+
+    /**
+     * CTR单个并行分段大小, 须为16的整数倍
+     */
+    private static final int CTR_SEGMENT_SIZE = 1024 * 1024;
+    /**
+     * 并行任务处理的文件区间大小
+     */
+    private static final int PARALLEL_RANGE_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * AES-CTR并行加密
+     * <p>结果与 <i>AES/CTR/NoPadding</i> 顺序加密一致</p>
+     *
+     * @param data 明文
+     * @param key  秘钥
+     * @param iv   初始计数器 (16字节)
+     * @return 密文
+     */
+    public static byte[] encryptAESCTR(final byte[] data, final byte[] key, final byte[] iv) {
+        return ctrTemplate(data, key, iv, 0);
+    }
+
+    /**
+     * AES-CTR并行解密
+     *
+     * @param data 密文
+     * @param key  秘钥
+     * @param iv   初始计数器 (16字节)
+     * @return 明文
+     */
+    public static byte[] decryptAESCTR(final byte[] data, final byte[] key, final byte[] iv) {
+        return ctrTemplate(data, key, iv, 0);
+    }
+
+    /**
+     * AES-CTR随机位置解密
+     * <p>解密密文流中任意位置开始的片段</p>
+     *
+     * @param data     密文片段
+     * @param key      秘钥
+     * @param iv       初始计数器 (16字节)
+     * @param position 片段在密文流中的偏移
+     * @return 明文片段
+     */
+    public static byte[] decryptAESCTR(final byte[] data,
+                                       final byte[] key,
+                                       final byte[] iv,
+                                       final long position) {
+        return ctrTemplate(data, key, iv, position);
+    }
+
+    /**
+     * AES-CTR文件并行加密
+     *
+     * @param src  明文文件
+     * @param dest 密文文件
+     * @param key  秘钥
+     * @param iv   初始计数器 (16字节)
+     * @return true:成功/false:失败
+     */
+    public static boolean encryptAESCTRFile(final File src,
+                                            final File dest,
+                                            final byte[] key,
+                                            final byte[] iv) {
+        return ctrFileTemplate(src, dest, key, iv);
+    }
+
+    /**
+     * AES-CTR文件并行解密
+     *
+     * @param src  密文文件
+     * @param dest 明文文件
+     * @param key  秘钥
+     * @param iv   初始计数器 (16字节)
+     * @return true:成功/false:失败
+     */
+    public static boolean decryptAESCTRFile(final File src,
+                                            final File dest,
+                                            final byte[] key,
+                                            final byte[] iv) {
+        return ctrFileTemplate(src, dest, key, iv);
+    }
+
+    private static byte[] ctrTemplate(final byte[] data,
+                                      final byte[] key,
+                                      final byte[] iv,
+                                      final long position) {
+        if (data == null || data.length == 0 || key == null || key.length == 0
+                || iv == null || iv.length != 16 || position < 0) {
+            return null;
+        }
+        final byte[] ret = new byte[data.length];
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int offset = 0; offset < data.length; offset += CTR_SEGMENT_SIZE) {
+            final int start = offset;
+            final int len = Math.min(CTR_SEGMENT_SIZE, data.length - offset);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    ctrSegment(key, iv, position + start, data, start, len, ret, start);
+                    return null;
+                }
+            });
+        }
+        try {
+            invokeAll(tasks);
+            return ret;
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static boolean ctrFileTemplate(final File src,
+                                           final File dest,
+                                           final byte[] key,
+                                           final byte[] iv) {
+        if (src == null || dest == null || key == null || key.length == 0
+                || iv == null || iv.length != 16) {
+            return false;
+        }
+        FileInputStream fis = null;
+        FileOutputStream fos = null;
+        boolean ret = false;
+        try {
+            fis = new FileInputStream(src);
+            fos = new FileOutputStream(dest);
+            final FileChannel in = fis.getChannel();
+            final FileChannel out = fos.getChannel();
+            long size = in.size();
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (long offset = 0; offset < size; offset += PARALLEL_RANGE_SIZE) {
+                final long start = offset;
+                final long end = Math.min(size, offset + PARALLEL_RANGE_SIZE);
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        ByteBuffer inBuffer = FILE_BUFFER.get();
+                        ByteBuffer outBuffer = CIPHER_BUFFER.get();
+                        for (long position = start; position < end; position += FILE_BUFFER_SIZE) {
+                            inBuffer.clear();
+                            inBuffer.limit((int) Math.min(FILE_BUFFER_SIZE, end - position));
+                            readFully(in, inBuffer, position);
+                            inBuffer.flip();
+                            outBuffer.clear();
+                            ctrSegment(key, iv, position, inBuffer, outBuffer);
+                            outBuffer.flip();
+                            writeFully(out, outBuffer, position);
+                        }
+                        return null;
+                    }
+                });
+            }
+            invokeAll(tasks);
+            ret = true;
+        } catch (IOException | ExecutionException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            CloseUtils.closeQuietly(fis, fos);
+            if (!ret) {
+                //noinspection ResultOfMethodCallIgnored
+                dest.delete();
+            }
+        }
+        return ret;
+    }
+
+    private static void ctrSegment(final byte[] key,
+                                   final byte[] iv,
+                                   final long position,
+                                   final byte[] input,
+                                   final int inputOffset,
+                                   final int len,
+                                   final byte[] output,
+                                   final int outputOffset) throws GeneralSecurityException {
+        Cipher cipher = initCTRCipher(key, iv, position);
+        try {
+            cipher.doFinal(input, inputOffset, len, output, outputOffset);
+        } finally {
+            CIPHER_CACHE.recycle(CTR_TRANSFORMATION, cipher);
+        }
+    }
+
+    private static void ctrSegment(final byte[] key,
+                                   final byte[] iv,
+                                   final long position,
+                                   final ByteBuffer input,
+                                   final ByteBuffer output) throws GeneralSecurityException {
+        Cipher cipher = initCTRCipher(key, iv, position);
+        try {
+            cipher.doFinal(input, output);
+        } finally {
+            CIPHER_CACHE.recycle(CTR_TRANSFORMATION, cipher);
+        }
+    }
+
+    private static final String CTR_TRANSFORMATION = "AES/CTR/NoPadding";
+
+    /**
+     * 按流内偏移定位计数器, 非块对齐时丢弃块内前部密钥流
+     */
+    private static Cipher initCTRCipher(final byte[] key,
+                                        final byte[] iv,
+                                        final long position) throws GeneralSecurityException {
+        Cipher cipher = CIPHER_CACHE.obtain(CTR_TRANSFORMATION);
+        try {
+            initCipher(cipher, Cipher.ENCRYPT_MODE, key, "AES", CTR_TRANSFORMATION,
+                    addCounter(iv, position >>> 4));
+            int skip = (int) (position & 0x0F);
+            if (skip > 0) {
+                cipher.update(new byte[skip]);
+            }
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            CIPHER_CACHE.recycle(CTR_TRANSFORMATION, cipher);
+            throw e;
+        }
+    }
+
+    private static byte[] addCounter(final byte[] iv, final long blocks) {
+        byte[] ret = iv.clone();
+        long carry = blocks;
+        for (int i = ret.length - 1; i >= 0 && carry != 0; i--) {
+            long sum = (ret[i] & 0xFF) + (carry & 0xFF);
+            ret[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+        return ret;
+    }
+
+    /**
+     * GCM分块容器默认分块大小
+     */
+    public static final int GCM_CHUNK_SIZE = 64 * 1024;
+    /**
+     * GCM分块容器最大分块大小
+     * <p>分块大小取自未经认证的头部, 解密前须限制, 避免按伪造的头部分配超大缓冲</p>
+     */
+    public static final int GCM_MAX_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static final byte[] GCM_CHUNK_MAGIC = {'X', 'G', 'C', 'M'};
+    private static final int GCM_CHUNK_VERSION = 1;
+    /**
+     * 头部: 魔数(4) + 版本(1) + 分块大小(4) + 随机数前缀(8)
+     */
+    private static final int GCM_CHUNK_HEADER_LENGTH = 17;
+    private static final int GCM_TAG_LENGTH = GCM_TAG_BITS >> 3;
+    private static final String GCM_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final byte[] GCM_FLAG_FINAL = {1};
+    private static final byte[] GCM_FLAG_NOT_FINAL = {0};
+
+    /**
+     * AES-GCM分块加密 (默认分块大小)
+     *
+     * @param data 明文
+     * @param key  秘钥
+     * @return 分块容器
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static byte[] encryptAESGCMChunked(final byte[] data, final byte[] key) {
+        return encryptAESGCMChunked(data, key, GCM_CHUNK_SIZE);
+    }
+
+    /**
+     * AES-GCM分块加密
+     * <p>各分块独立认证并在工作线程上并行加密, 末块标记防止截断</p>
+     *
+     * @param data      明文
+     * @param key       秘钥
+     * @param chunkSize 分块大小, 不超过 {@link #GCM_MAX_CHUNK_SIZE}
+     * @return 分块容器
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static byte[] encryptAESGCMChunked(final byte[] data, final byte[] key, final int chunkSize) {
+        if (data == null || key == null || key.length == 0 || !isGCMChunkSize(chunkSize)) {
+            return null;
+        }
+        final byte[] header = newGCMChunkHeader(chunkSize);
+        final int count = Math.max(1, (data.length + chunkSize - 1) / chunkSize);
+        final byte[] ret = new byte[GCM_CHUNK_HEADER_LENGTH + data.length + count * GCM_TAG_LENGTH];
+        System.arraycopy(header, 0, ret, 0, GCM_CHUNK_HEADER_LENGTH);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        int group = Math.max(1, PARALLEL_RANGE_SIZE / chunkSize);
+        for (int first = 0; first < count; first += group) {
+            final int from = first;
+            final int to = Math.min(count, first + group);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (int i = from; i < to; i++) {
+                        int offset = i * chunkSize;
+                        gcmChunk(key, header, i, i == count - 1, true,
+                                data, offset, Math.min(chunkSize, data.length - offset),
+                                ret, GCM_CHUNK_HEADER_LENGTH + i * (chunkSize + GCM_TAG_LENGTH));
+                    }
+                    return null;
+                }
+            });
+        }
+        try {
+            invokeAll(tasks);
+            return ret;
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * AES-GCM分块并行解密
+     *
+     * @param data 分块容器
+     * @param key  秘钥
+     * @return 明文, 任一分块认证失败返回null
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static byte[] decryptAESGCMChunked(final byte[] data, final byte[] key) {
+        if (key == null || key.length == 0 || !isGCMChunkHeader(data, data == null ? 0 : data.length)) {
+            return null;
+        }
+        final byte[] header = Arrays.copyOf(data, GCM_CHUNK_HEADER_LENGTH);
+        final int chunkSize = getInt(header, 5);
+        final int count = getGCMChunkCount(data.length, chunkSize);
+        if (count <= 0) {
+            return null;
+        }
+        final byte[] ret = new byte[data.length - GCM_CHUNK_HEADER_LENGTH - count * GCM_TAG_LENGTH];
+        List<Callable<Void>> tasks = new ArrayList<>();
+        int group = Math.max(1, PARALLEL_RANGE_SIZE / chunkSize);
+        for (int first = 0; first < count; first += group) {
+            final int from = first;
+            final int to = Math.min(count, first + group);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (int i = from; i < to; i++) {
+                        int offset = GCM_CHUNK_HEADER_LENGTH + i * (chunkSize + GCM_TAG_LENGTH);
+                        gcmChunk(key, header, i, i == count - 1, false,
+                                data, offset, Math.min(chunkSize + GCM_TAG_LENGTH, data.length - offset),
+                                ret, i * chunkSize);
+                    }
+                    return null;
+                }
+            });
+        }
+        try {
+            invokeAll(tasks);
+            return ret;
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * AES-GCM分块容器单块解密
+     *
+     * @param data  分块容器
+     * @param key   秘钥
+     * @param index 分块序号
+     * @return 该分块明文
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static byte[] decryptAESGCMChunk(final byte[] data, final byte[] key, final int index) {
+        if (key == null || key.length == 0 || !isGCMChunkHeader(data, data == null ? 0 : data.length)) {
+            return null;
+        }
+        byte[] header = Arrays.copyOf(data, GCM_CHUNK_HEADER_LENGTH);
+        int chunkSize = getInt(header, 5);
+        int count = getGCMChunkCount(data.length, chunkSize);
+        if (index < 0 || index >= count) {
+            return null;
+        }
+        long offset = GCM_CHUNK_HEADER_LENGTH + (long) index * (chunkSize + GCM_TAG_LENGTH);
+        int len = (int) Math.min(chunkSize + GCM_TAG_LENGTH, data.length - offset);
+        byte[] ret = new byte[len - GCM_TAG_LENGTH];
+        try {
+            gcmChunk(key, header, index, index == count - 1, false, data, (int) offset, len, ret, 0);
+            return ret;
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * AES-GCM文件分块并行加密
+     *
+     * @param src       明文文件
+     * @param dest      分块容器文件
+     * @param key       秘钥
+     * @param chunkSize 分块大小, 不超过 {@link #GCM_MAX_CHUNK_SIZE}
+     * @return true:成功/false:失败
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static boolean encryptAESGCMChunkedFile(final File src,
+                                                   final File dest,
+                                                   final byte[] key,
+                                                   final int chunkSize) {
+        return gcmFileTemplate(src, dest, key, chunkSize, true);
+    }
+
+    /**
+     * AES-GCM文件分块并行解密
+     *
+     * @param src  分块容器文件
+     * @param dest 明文文件
+     * @param key  秘钥
+     * @return true:成功/false:失败
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static boolean decryptAESGCMChunkedFile(final File src,
+                                                   final File dest,
+                                                   final byte[] key) {
+        return gcmFileTemplate(src, dest, key, 0, false);
+    }
+
+    /**
+     * AES-GCM分块容器文件单块解密
+     *
+     * @param src   分块容器文件
+     * @param key   秘钥
+     * @param index 分块序号
+     * @return 该分块明文
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static byte[] decryptAESGCMChunk(final File src, final byte[] key, final int index) {
+        if (src == null || key == null || key.length == 0 || index < 0) {
+            return null;
+        }
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(src);
+            FileChannel channel = fis.getChannel();
+            long size = channel.size();
+            byte[] header = new byte[GCM_CHUNK_HEADER_LENGTH];
+            if (size < GCM_CHUNK_HEADER_LENGTH) {
+                return null;
+            }
+            readFully(channel, ByteBuffer.wrap(header), 0);
+            if (!isGCMChunkHeader(header, header.length)) {
+                return null;
+            }
+            int chunkSize = getInt(header, 5);
+            long count = getGCMChunkCount(size, chunkSize);
+            if (index >= count) {
+                return null;
+            }
+            long offset = GCM_CHUNK_HEADER_LENGTH + (long) index * (chunkSize + GCM_TAG_LENGTH);
+            byte[] in = new byte[(int) Math.min(chunkSize + GCM_TAG_LENGTH, size - offset)];
+            readFully(channel, ByteBuffer.wrap(in), offset);
+            byte[] ret = new byte[in.length - GCM_TAG_LENGTH];
+            gcmChunk(key, header, index, index == count - 1, false, in, 0, in.length, ret, 0);
+            return ret;
+        } catch (IOException | GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            CloseUtils.closeQuietly(fis);
+        }
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    private static boolean gcmFileTemplate(final File src,
+                                           final File dest,
+                                           final byte[] key,
+                                           final int chunkSize,
+                                           final boolean isEncrypt) {
+        if (src == null || dest == null || key == null || key.length == 0
+                || (isEncrypt && !isGCMChunkSize(chunkSize))) {
+            return false;
+        }
+        FileInputStream fis = null;
+        FileOutputStream fos = null;
+        boolean ret = false;
+        try {
+            fis = new FileInputStream(src);
+            fos = new FileOutputStream(dest);
+            final FileChannel in = fis.getChannel();
+            final FileChannel out = fos.getChannel();
+            final long size = in.size();
+            final byte[] header;
+            final long count;
+            if (isEncrypt) {
+                header = newGCMChunkHeader(chunkSize);
+                count = Math.max(1, (size + chunkSize - 1) / chunkSize);
+                writeFully(out, ByteBuffer.wrap(header), 0);
+            } else {
+                header = new byte[GCM_CHUNK_HEADER_LENGTH];
+                if (size < GCM_CHUNK_HEADER_LENGTH) {
+                    return false;
+                }
+                readFully(in, ByteBuffer.wrap(header), 0);
+                if (!isGCMChunkHeader(header, header.length)) {
+                    return false;
+                }
+                count = getGCMChunkCount(size, getInt(header, 5));
+                if (count <= 0) {
+                    return false;
+                }
+            }
+            final int plainSize = getInt(header, 5);
+            final int cipherSize = plainSize + GCM_TAG_LENGTH;
+            // 小文件无需按完整分块分配缓冲
+            final int bufferSize = (int) Math.min(cipherSize,
+                    (isEncrypt ? size : size - GCM_CHUNK_HEADER_LENGTH) + GCM_TAG_LENGTH);
+            List<Callable<Void>> tasks = new ArrayList<>();
+            long group = Math.max(1, PARALLEL_RANGE_SIZE / plainSize);
+            for (long first = 0; first < count; first += group) {
+                final long from = first;
+                final long to = Math.min(count, first + group);
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        byte[] inBuffer = new byte[bufferSize];
+                        byte[] outBuffer = new byte[bufferSize];
+                        for (long i = from; i < to; i++) {
+                            long plainOffset = i * plainSize;
+                            long cipherOffset = GCM_CHUNK_HEADER_LENGTH + i * cipherSize;
+                            long inOffset = isEncrypt ? plainOffset : cipherOffset;
+                            int inLen = (int) Math.min(isEncrypt ? plainSize : cipherSize, size - inOffset);
+                            readFully(in, ByteBuffer.wrap(inBuffer, 0, inLen), inOffset);
+                            int outLen = gcmChunk(key, header, (int) i, i == count - 1, isEncrypt,
+                                    inBuffer, 0, inLen, outBuffer, 0);
+                            writeFully(out, ByteBuffer.wrap(outBuffer, 0, outLen),
+                                    isEncrypt ? cipherOffset : plainOffset);
+                        }
+                        return null;
+                    }
+                });
+            }
+            invokeAll(tasks);
+            ret = true;
+        } catch (IOException | ExecutionException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            CloseUtils.closeQuietly(fis, fos);
+            if (!ret) {
+                //noinspection ResultOfMethodCallIgnored
+                dest.delete();
+            }
+        }
+        return ret;
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    private static void gcmChunkedEncrypt(final InputStream is,
+                                          final OutputStream os,
+                                          final byte[] key,
+                                          final int chunkSize)
+            throws IOException, GeneralSecurityException {
+        byte[] header = newGCMChunkHeader(chunkSize);
+        os.write(header);
+        byte[] current = new byte[chunkSize];
+        byte[] next = new byte[chunkSize];
+        byte[] out = new byte[chunkSize + GCM_TAG_LENGTH];
+        int len = readChunk(is, current);
+        for (int index = 0; ; index++) {
+            // 读满一块时需预读下一块, 以确定当前块是否为末块
+            int nextLen = len == chunkSize ? readChunk(is, next) : 0;
+            boolean isFinal = nextLen == 0;
+            os.write(out, 0, gcmChunk(key, header, index, isFinal, true, current, 0, len, out, 0));
+            if (isFinal) {
+                break;
+            }
+            byte[] temp = current;
+            current = next;
+            next = temp;
+            len = nextLen;
+        }
+        os.flush();
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    private static void gcmChunkedDecrypt(final InputStream is,
+                                          final OutputStream os,
+                                          final byte[] key)
+            throws IOException, GeneralSecurityException {
+        byte[] header = new byte[GCM_CHUNK_HEADER_LENGTH];
+        readFully(is, header);
+        if (!isGCMChunkHeader(header, header.length)) {
+            throw new GeneralSecurityException("Illegal chunk header");
+        }
+        // 分块大小取自未经认证的头部, 分配缓冲前校验上限并以long计算
+        int chunkSize = getInt(header, 5);
+        if (!isGCMChunkSize(chunkSize)) {
+            throw new GeneralSecurityException("Illegal chunk size: " + chunkSize);
+        }
+        int cipherSize = (int) ((long) chunkSize + GCM_TAG_LENGTH);
+        byte[] current = new byte[cipherSize];
+        byte[] next = null;
+        byte[] out = new byte[cipherSize];
+        int len = readChunk(is, current);
+        for (int index = 0; ; index++) {
+            if (len < GCM_TAG_LENGTH) {
+                throw new EOFException();
+            }
+            if (len == cipherSize && next == null) {
+                // 仅有多块时才需预读缓冲
+                next = new byte[cipherSize];
+            }
+            int nextLen = len == cipherSize ? readChunk(is, next) : 0;
+            boolean isFinal = nextLen == 0;
+            os.write(out, 0, gcmChunk(key, header, index, isFinal, false, current, 0, len, out, 0));
+            if (isFinal) {
+                break;
+            }
+            byte[] temp = current;
+            current = next;
+            next = temp;
+            len = nextLen;
+        }
+        os.flush();
+    }
+
+    /**
+     * 读满缓冲区或至流末尾
+     */
+    private static int readChunk(final InputStream is, final byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int len = is.read(buffer, offset, buffer.length - offset);
+            if (len == -1) {
+                break;
+            }
+            offset += len;
+        }
+        return offset;
+    }
+
+    private static byte[] newGCMChunkHeader(final int chunkSize) {
+        byte[] header = new byte[GCM_CHUNK_HEADER_LENGTH];
+        System.arraycopy(GCM_CHUNK_MAGIC, 0, header, 0, GCM_CHUNK_MAGIC.length);
+        header[4] = GCM_CHUNK_VERSION;
+        putInt(header, 5, chunkSize);
+        byte[] prefix = new byte[8];
+        RANDOM.nextBytes(prefix);
+        System.arraycopy(prefix, 0, header, 9, prefix.length);
+        return header;
+    }
+
+    private static boolean isGCMChunkHeader(final byte[] data, final int len) {
+        if (data == null || len < GCM_CHUNK_HEADER_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < GCM_CHUNK_MAGIC.length; i++) {
+            if (data[i] != GCM_CHUNK_MAGIC[i]) {
+                return false;
+            }
+        }
+        return data[4] == GCM_CHUNK_VERSION && isGCMChunkSize(getInt(data, 5));
+    }
+
+    private static boolean isGCMChunkSize(final int chunkSize) {
+        return chunkSize > 0 && chunkSize <= GCM_MAX_CHUNK_SIZE;
+    }
+
+    private static int getGCMChunkCount(final long containerLen, final int chunkSize) {
+        long body = containerLen - GCM_CHUNK_HEADER_LENGTH;
+        long cipherSize = (long) chunkSize + GCM_TAG_LENGTH;
+        if (body < GCM_TAG_LENGTH) {
+            return -1;
+        }
+        long count = (body + cipherSize - 1) / cipherSize;
+        long last = body - (count - 1) * cipherSize;
+        if (last < GCM_TAG_LENGTH || count > Integer.MAX_VALUE) {
+            return -1;
+        }
+        return (int) count;
+    }
+
+    /**
+     * 处理单个GCM分块: 随机数 = 头部前缀(8) + 分块序号(4), AAD = 头部 + 末块标记
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    private static int gcmChunk(final byte[] key,
+                                final byte[] header,
+                                final int index,
+                                final boolean isFinal,
+                                final boolean isEncrypt,
+                                final byte[] input,
+                                final int inputOffset,
+                                final int len,
+                                final byte[] output,
+                                final int outputOffset) throws GeneralSecurityException {
+        byte[] nonce = new byte[GCM_IV_LENGTH];
+        System.arraycopy(header, 9, nonce, 0, 8);
+        putInt(nonce, 8, index);
+        Cipher cipher = CIPHER_CACHE.obtain(GCM_TRANSFORMATION);
+        try {
+            initCipher(cipher, isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE,
+                    key, "AES", GCM_TRANSFORMATION, nonce);
+            cipher.updateAAD(header);
+            cipher.updateAAD(isFinal ? GCM_FLAG_FINAL : GCM_FLAG_NOT_FINAL);
+            return cipher.doFinal(input, inputOffset, len, output, outputOffset);
+        } finally {
+            CIPHER_CACHE.recycle(GCM_TRANSFORMATION, cipher);
+        }
+    }
+
+    private static void readFully(final FileChannel channel,
+                                  final ByteBuffer buffer,
+                                  final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int len = channel.read(buffer, offset);
+            if (len == -1) {
+                throw new EOFException();
+            }
+            offset += len;
+        }
+    }
+
+    private static void writeFully(final FileChannel channel,
+                                   final ByteBuffer buffer,
+                                   final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private static void putInt(final byte[] data, final int offset, final int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+
+    private static int getInt(final byte[] data, final int offset) {
+        return (data[offset] & 0xFF) << 24
+                | (data[offset + 1] & 0xFF) << 16
+                | (data[offset + 2] & 0xFF) << 8
+                | (data[offset + 3] & 0xFF);
+    }
+
+    /*
+     *  ########## ChaCha20-Poly1305相关 ##########
+     */
+
+    private static final int CHACHA20_KEY_LENGTH = 32;
+    private static final int CHACHA20_NONCE_LENGTH = 12;
+    private static final int POLY1305_TAG_LENGTH = 16;
+
+    /**
+     * ChaCha20-Poly1305加密 (RFC 8439)
+     * <p>系统提供时使用平台实现, 否则使用纯Java实现; 同一秘钥下nonce不可重复</p>
+     *
+     * @param data  明文
+     * @param key   秘钥, 32字节
+     * @param nonce 随机数, 12字节
+     * @param aad   附加认证数据, 可为null
+     * @return 密文 + 16字节认证标签
+     */
+    public static byte[] encryptChaCha20Poly1305(final byte[] data,
+                                                 final byte[] key,
+                                                 final byte[] nonce,
+                                                 final byte[] aad) {
+        return chaCha20Poly1305Template(data, key, nonce, aad, true);
+    }
+
+    /**
+     * ChaCha20-Poly1305解密 (RFC 8439)
+     *
+     * @param data  密文 + 16字节认证标签
+     * @param key   秘钥, 32字节
+     * @param nonce 随机数, 12字节
+     * @param aad   附加认证数据, 可为null
+     * @return 明文, 认证失败返回null
+     */
+    public static byte[] decryptChaCha20Poly1305(final byte[] data,
+                                                 final byte[] key,
+                                                 final byte[] nonce,
+                                                 final byte[] aad) {
+        return chaCha20Poly1305Template(data, key, nonce, aad, false);
+    }
+
+    private static byte[] chaCha20Poly1305Template(final byte[] data,
+                                                   final byte[] key,
+                                                   final byte[] nonce,
+                                                   final byte[] aad,
+                                                   final boolean isEncrypt) {
+        if (data == null || key == null || key.length != CHACHA20_KEY_LENGTH
+                || nonce == null || nonce.length != CHACHA20_NONCE_LENGTH
+                || (!isEncrypt && data.length < POLY1305_TAG_LENGTH)) {
+            return null;
+        }
+        String transformation = ChaCha20Holder.TRANSFORMATION;
+        if (transformation == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+            return ChaCha20Poly1305.seal(key, nonce, aad, data, isEncrypt);
+        }
+        Cipher cipher = null;
+        try {
+            cipher = CIPHER_CACHE.obtain(transformation);
+            SecretKeySpec keySpec = new SecretKeySpec(key, "ChaCha20");
+            try {
+                cipher.init(isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE,
+                        keySpec, new IvParameterSpec(nonce));
+            } catch (InvalidKeyException e) {
+                // 部分实现拒绝以上次的秘钥与nonce重新初始化, 解密时改用新实例
+                if (isEncrypt) {
+                    throw e;
+                }
+                cipher = CIPHER_CACHE.create(transformation);
+                cipher.init(Cipher.DECRYPT_MODE, keySpec, new IvParameterSpec(nonce));
+            }
+            if (aad != null) {
+                cipher.updateAAD(aad);
+            }
+            return cipher.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            CIPHER_CACHE.recycle(transformation, cipher);
+        }
+    }
+
+    private static final class ChaCha20Holder {
+        private static final String TRANSFORMATION = getTransformation();
+
+        private static String getTransformation() {
+            // Android (Conscrypt) 与 JDK 的命名不同
+            for (String transformation : new String[]{"ChaCha20/Poly1305/NoPadding", "ChaCha20-Poly1305"}) {
+                try {
+                    Cipher.getInstance(transformation);
+                    return transformation;
+                } catch (GeneralSecurityException ignore) {/**/}
+            }
+            return null;
+        }
+    }
+
+    /**
+     * ChaCha20-Poly1305纯Java实现
+     */
+    @VisibleForTesting
+    static final class ChaCha20Poly1305 {
+
+        private static final int MASK_26 = 0x3ffffff;
+
+        static byte[] seal(final byte[] key,
+                           final byte[] nonce,
+                           final byte[] aad,
+                           final byte[] data,
+                           final boolean isEncrypt) {
+            int[] state = new int[16];
+            state[0] = 0x61707865;
+            state[1] = 0x3320646e;
+            state[2] = 0x79622d32;
+            state[3] = 0x6b206574;
+            for (int i = 0; i < 8; i++) {
+                state[4 + i] = getIntLE(key, i << 2);
+            }
+            for (int i = 0; i < 3; i++) {
+                state[13 + i] = getIntLE(nonce, i << 2);
+            }
+            byte[] block = new byte[64];
+            chaCha20Block(state, 0, block);
+            byte[] polyKey = Arrays.copyOf(block, 32);
+            int len = isEncrypt ? data.length : data.length - POLY1305_TAG_LENGTH;
+            byte[] ret = new byte[isEncrypt ? len + POLY1305_TAG_LENGTH : len];
+            if (isEncrypt) {
+                chaCha20Xor(state, data, len, ret, block);
+                byte[] tag = poly1305(polyKey, aad, ret, len);
+                System.arraycopy(tag, 0, ret, len, POLY1305_TAG_LENGTH);
+                return ret;
+            }
+            byte[] tag = poly1305(polyKey, aad, data, len);
+            if (!MessageDigest.isEqual(tag, Arrays.copyOfRange(data, len, data.length))) {
+                return null;
+            }
+            chaCha20Xor(state, data, len, ret, block);
+            return ret;
+        }
+
+        private static void chaCha20Xor(final int[] state,
+                                        final byte[] in,
+                                        final int len,
+                                        final byte[] out,
+                                        final byte[] block) {
+            int counter = 1;
+            for (int offset = 0; offset < len; offset += 64) {
+                chaCha20Block(state, counter++, block);
+                int n = Math.min(64, len - offset);
+                for (int i = 0; i < n; i++) {
+                    out[offset + i] = (byte) (in[offset + i] ^ block[i]);
+                }
+            }
+        }
+
+        private static void chaCha20Block(final int[] state, final int counter, final byte[] out) {
+            int x0 = state[0], x1 = state[1], x2 = state[2], x3 = state[3];
+            int x4 = state[4], x5 = state[5], x6 = state[6], x7 = state[7];
+            int x8 = state[8], x9 = state[9], x10 = state[10], x11 = state[11];
+            int x12 = counter, x13 = state[13], x14 = state[14], x15 = state[15];
+            for (int i = 0; i < 10; i++) {
+                x0 += x4; x12 = Integer.rotateLeft(x12 ^ x0, 16);
+                x8 += x12; x4 = Integer.rotateLeft(x4 ^ x8, 12);
+                x0 += x4; x12 = Integer.rotateLeft(x12 ^ x0, 8);
+                x8 += x12; x4 = Integer.rotateLeft(x4 ^ x8, 7);
+                x1 += x5; x13 = Integer.rotateLeft(x13 ^ x1, 16);
+                x9 += x13; x5 = Integer.rotateLeft(x5 ^ x9, 12);
+                x1 += x5; x13 = Integer.rotateLeft(x13 ^ x1, 8);
+                x9 += x13; x5 = Integer.rotateLeft(x5 ^ x9, 7);
+                x2 += x6; x14 = Integer.rotateLeft(x14 ^ x2, 16);
+                x10 += x14; x6 = Integer.rotateLeft(x6 ^ x10, 12);
+                x2 += x6; x14 = Integer.rotateLeft(x14 ^ x2, 8);
+                x10 += x14; x6 = Integer.rotateLeft(x6 ^ x10, 7);
+                x3 += x7; x15 = Integer.rotateLeft(x15 ^ x3, 16);
+                x11 += x15; x7 = Integer.rotateLeft(x7 ^ x11, 12);
+                x3 += x7; x15 = Integer.rotateLeft(x15 ^ x3, 8);
+                x11 += x15; x7 = Integer.rotateLeft(x7 ^ x11, 7);
+                x0 += x5; x15 = Integer.rotateLeft(x15 ^ x0, 16);
+                x10 += x15; x5 = Integer.rotateLeft(x5 ^ x10, 12);
+                x0 += x5; x15 = Integer.rotateLeft(x15 ^ x0, 8);
+                x10 += x15; x5 = Integer.rotateLeft(x5 ^ x10, 7);
+                x1 += x6; x12 = Integer.rotateLeft(x12 ^ x1, 16);
+                x11 += x12; x6 = Integer.rotateLeft(x6 ^ x11, 12);
+                x1 += x6; x12 = Integer.rotateLeft(x12 ^ x1, 8);
+                x11 += x12; x6 = Integer.rotateLeft(x6 ^ x11, 7);
+                x2 += x7; x13 = Integer.rotateLeft(x13 ^ x2, 16);
+                x8 += x13; x7 = Integer.rotateLeft(x7 ^ x8, 12);
+                x2 += x7; x13 = Integer.rotateLeft(x13 ^ x2, 8);
+                x8 += x13; x7 = Integer.rotateLeft(x7 ^ x8, 7);
+                x3 += x4; x14 = Integer.rotateLeft(x14 ^ x3, 16);
+                x9 += x14; x4 = Integer.rotateLeft(x4 ^ x9, 12);
+                x3 += x4; x14 = Integer.rotateLeft(x14 ^ x3, 8);
+                x9 += x14; x4 = Integer.rotateLeft(x4 ^ x9, 7);
+            }
+            putIntLE(out, 0, x0 + state[0]);
+            putIntLE(out, 4, x1 + state[1]);
+            putIntLE(out, 8, x2 + state[2]);
+            putIntLE(out, 12, x3 + state[3]);
+            putIntLE(out, 16, x4 + state[4]);
+            putIntLE(out, 20, x5 + state[5]);
+            putIntLE(out, 24, x6 + state[6]);
+            putIntLE(out, 28, x7 + state[7]);
+            putIntLE(out, 32, x8 + state[8]);
+            putIntLE(out, 36, x9 + state[9]);
+            putIntLE(out, 40, x10 + state[10]);
+            putIntLE(out, 44, x11 + state[11]);
+            putIntLE(out, 48, x12 + counter);
+            putIntLE(out, 52, x13 + state[13]);
+            putIntLE(out, 56, x14 + state[14]);
+            putIntLE(out, 60, x15 + state[15]);
+        }
+
+        /**
+         * Poly1305 (26位分limb实现), 输入为 aad || pad || 密文 || pad || len(aad) || len(密文)
+         */
+        private static byte[] poly1305(final byte[] key, final byte[] aad, final byte[] data, final int len) {
+            int r0 = getIntLE(key, 0) & MASK_26;
+            int r1 = (getIntLE(key, 3) >>> 2) & 0x3ffff03;
+            int r2 = (getIntLE(key, 6) >>> 4) & 0x3ffc0ff;
+            int r3 = (getIntLE(key, 9) >>> 6) & 0x3f03fff;
+            int r4 = (getIntLE(key, 12) >>> 8) & 0x00fffff;
+            int[] r = {r0, r1, r2, r3, r4, r1 * 5, r2 * 5, r3 * 5, r4 * 5};
+            int[] h = new int[5];
+            byte[] block = new byte[16];
+            int aadLen = aad == null ? 0 : aad.length;
+            if (aadLen > 0) {
+                polyUpdate(h, r, aad, aadLen, block);
+            }
+            polyUpdate(h, r, data, len, block);
+            putIntLE(block, 0, aadLen);
+            putIntLE(block, 4, 0);
+            putIntLE(block, 8, len);
+            putIntLE(block, 12, 0);
+            polyBlock(h, r, block, 0);
+            return polyFinish(h, key);
+        }
+
+        private static void polyUpdate(final int[] h, final int[] r, final byte[] data, final int len,
+                                       final byte[] block) {
+            int offset = 0;
+            for (; offset <= len - 16; offset += 16) {
+                polyBlock(h, r, data, offset);
+            }
+            if (offset < len) {
+                Arrays.fill(block, (byte) 0);
+                System.arraycopy(data, offset, block, 0, len - offset);
+                polyBlock(h, r, block, 0);
+            }
+        }
+
+        private static void polyBlock(final int[] h, final int[] r, final byte[] m, final int offset) {
+            long h0 = h[0] + (getIntLE(m, offset) & MASK_26);
+            long h1 = h[1] + ((getIntLE(m, offset + 3) >>> 2) & MASK_26);
+            long h2 = h[2] + ((getIntLE(m, offset + 6) >>> 4) & MASK_26);
+            long h3 = h[3] + ((getIntLE(m, offset + 9) >>> 6) & MASK_26);
+            long h4 = h[4] + ((getIntLE(m, offset + 12) >>> 8) | (1 << 24));
+            long r0 = r[0], r1 = r[1], r2 = r[2], r3 = r[3], r4 = r[4];
+            long s1 = r[5], s2 = r[6], s3 = r[7], s4 = r[8];
+            long d0 = h0 * r0 + h1 * s4 + h2 * s3 + h3 * s2 + h4 * s1;
+            long d1 = h0 * r1 + h1 * r0 + h2 * s4 + h3 * s3 + h4 * s2;
+            long d2 = h0 * r2 + h1 * r1 + h2 * r0 + h3 * s4 + h4 * s3;
+            long d3 = h0 * r3 + h1 * r2 + h2 * r1 + h3 * r0 + h4 * s4;
+            long d4 = h0 * r4 + h1 * r3 + h2 * r2 + h3 * r1 + h4 * r0;
+            long c = d0 >>> 26;
+            h[0] = (int) d0 & MASK_26;
+            d1 += c;
+            c = d1 >>> 26;
+            h[1] = (int) d1 & MASK_26;
+            d2 += c;
+            c = d2 >>> 26;
+            h[2] = (int) d2 & MASK_26;
+            d3 += c;
+            c = d3 >>> 26;
+            h[3] = (int) d3 & MASK_26;
+            d4 += c;
+            c = d4 >>> 26;
+            h[4] = (int) d4 & MASK_26;
+            h[0] += (int) (c * 5);
+            h[1] += h[0] >>> 26;
+            h[0] &= MASK_26;
+        }
+
+        private static byte[] polyFinish(final int[] h, final byte[] key) {
+            int h0 = h[0], h1 = h[1], h2 = h[2], h3 = h[3], h4 = h[4];
+            int c = h1 >>> 26;
+            h1 &= MASK_26;
+            h2 += c;
+            c = h2 >>> 26;
+            h2 &= MASK_26;
+            h3 += c;
+            c = h3 >>> 26;
+            h3 &= MASK_26;
+            h4 += c;
+            c = h4 >>> 26;
+            h4 &= MASK_26;
+            h0 += c * 5;
+            c = h0 >>> 26;
+            h0 &= MASK_26;
+            h1 += c;
+            // 计算 h + -p, 不小于p时取之, 常量时间
+            int g0 = h0 + 5;
+            c = g0 >>> 26;
+            g0 &= MASK_26;
+            int g1 = h1 + c;
+            c = g1 >>> 26;
+            g1 &= MASK_26;
+            int g2 = h2 + c;
+            c = g2 >>> 26;
+            g2 &= MASK_26;
+            int g3 = h3 + c;
+            c = g3 >>> 26;
+            g3 &= MASK_26;
+            int g4 = h4 + c - (1 << 26);
+            int mask = (g4 >>> 31) - 1;
+            h0 = (h0 & ~mask) | (g0 & mask);
+            h1 = (h1 & ~mask) | (g1 & mask);
+            h2 = (h2 & ~mask) | (g2 & mask);
+            h3 = (h3 & ~mask) | (g3 & mask);
+            h4 = (h4 & ~mask) | (g4 & mask);
+            long f0 = ((h0 | (h1 << 26)) & 0xffffffffL) + (getIntLE(key, 16) & 0xffffffffL);
+            long f1 = (((h1 >>> 6) | (h2 << 20)) & 0xffffffffL) + (getIntLE(key, 20) & 0xffffffffL);
+            long f2 = (((h2 >>> 12) | (h3 << 14)) & 0xffffffffL) + (getIntLE(key, 24) & 0xffffffffL);
+            long f3 = (((h3 >>> 18) | (h4 << 8)) & 0xffffffffL) + (getIntLE(key, 28) & 0xffffffffL);
+            byte[] ret = new byte[POLY1305_TAG_LENGTH];
+            putIntLE(ret, 0, (int) f0);
+            f1 += f0 >>> 32;
+            putIntLE(ret, 4, (int) f1);
+            f2 += f1 >>> 32;
+            putIntLE(ret, 8, (int) f2);
+            f3 += f2 >>> 32;
+            putIntLE(ret, 12, (int) f3);
+            return ret;
+        }
+
+        private static int getIntLE(final byte[] b, final int i) {
+            return (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16 | b[i + 3] << 24;
+        }
+
+        private static void putIntLE(final byte[] b, final int i, final int value) {
+            b[i] = (byte) value;
+            b[i + 1] = (byte) (value >>> 8);
+            b[i + 2] = (byte) (value >>> 16);
+            b[i + 3] = (byte) (value >>> 24);
+        }
+    }
+
+    /*
+     *  ########## AEAD相关 ##########
+     */
+
+    /**
+     * 按设备自动选择AEAD算法
+     */
+    public static final int AEAD_AUTO = 0;
+    /**
+     * AES-256-GCM
+     */
+    public static final int AEAD_AES_GCM = 1;
+    /**
+     * ChaCha20-Poly1305
+     */
+    public static final int AEAD_CHACHA20_POLY1305 = 2;
+
+    private static final byte[] AEAD_MAGIC = {'X', 'A'};
+    private static final int AEAD_VERSION = 1;
+    private static final int AEAD_HEADER_LENGTH = 4 + GCM_IV_LENGTH;
+    private static final int AEAD_BENCHMARK_SIZE = 16 * 1024;
+
+    /**
+     * AEAD加密, 按设备自动选择算法
+     * <p>CPU具备AES指令时使用AES-256-GCM, 否则使用ChaCha20-Poly1305</p>
+     * <p>格式: 魔数(2) + 版本(1) + 算法(1) + nonce(12) + 密文 + 标签(16), 头部参与认证,
+     * 解密端据此识别算法</p>
+     *
+     * @param data 明文
+     * @param key  秘钥, 32字节
+     * @return 密文
+     */
+    public static byte[] encryptAEAD(final byte[] data, final byte[] key) {
+        return encryptAEAD(data, key, null, AEAD_AUTO);
+    }
+
+    /**
+     * AEAD加密
+     *
+     * @param data 明文
+     * @param key  秘钥, 32字节
+     * @param aad  附加认证数据, 可为null
+     * @param aead 算法: {@link #AEAD_AUTO}, {@link #AEAD_AES_GCM}, {@link #AEAD_CHACHA20_POLY1305}
+     * @return 密文
+     */
+    public static byte[] encryptAEAD(final byte[] data,
+                                     final byte[] key,
+                                     final byte[] aad,
+                                     final int aead) {
+        if (data == null || key == null || key.length != CHACHA20_KEY_LENGTH) {
+            return null;
+        }
+        int id = aead;
+        if (id == AEAD_AUTO) {
+            id = isAESAccelerated() ? AEAD_AES_GCM : AEAD_CHACHA20_POLY1305;
+        }
+        if (id != AEAD_AES_GCM && id != AEAD_CHACHA20_POLY1305) {
+            return null;
+        }
+        byte[] header = new byte[AEAD_HEADER_LENGTH];
+        header[0] = AEAD_MAGIC[0];
+        header[1] = AEAD_MAGIC[1];
+        header[2] = AEAD_VERSION;
+        header[3] = (byte) id;
+        byte[] nonce = new byte[GCM_IV_LENGTH];
+        RANDOM.nextBytes(nonce);
+        System.arraycopy(nonce, 0, header, 4, nonce.length);
+        byte[] body = aeadTemplate(id, data, key, nonce, joins(header, aad), true);
+        if (body == null) {
+            return null;
+        }
+        byte[] ret = Arrays.copyOf(header, header.length + body.length);
+        System.arraycopy(body, 0, ret, header.length, body.length);
+        return ret;
+    }
+
+    /**
+     * AEAD解密, 算法由头部识别
+     *
+     * @param data 密文
+     * @param key  秘钥, 32字节
+     * @return 明文, 认证失败返回null
+     */
+    public static byte[] decryptAEAD(final byte[] data, final byte[] key) {
+        return decryptAEAD(data, key, null);
+    }
+
+    /**
+     * AEAD解密, 算法由头部识别
+     *
+     * @param data 密文
+     * @param key  秘钥, 32字节
+     * @param aad  附加认证数据, 须与加密时一致
+     * @return 明文, 认证失败返回null
+     */
+    public static byte[] decryptAEAD(final byte[] data, final byte[] key, final byte[] aad) {
+        if (data == null || data.length < AEAD_HEADER_LENGTH + GCM_TAG_LENGTH
+                || key == null || key.length != CHACHA20_KEY_LENGTH
+                || data[0] != AEAD_MAGIC[0] || data[1] != AEAD_MAGIC[1] || data[2] != AEAD_VERSION) {
+            return null;
+        }
+        byte[] header = Arrays.copyOf(data, AEAD_HEADER_LENGTH);
+        byte[] nonce = Arrays.copyOfRange(header, 4, AEAD_HEADER_LENGTH);
+        return aeadTemplate(header[3], Arrays.copyOfRange(data, AEAD_HEADER_LENGTH, data.length),
+                key, nonce, joins(header, aad), false);
+    }
+
+    /**
+     * CPU是否具备AES硬件指令
+     * <p>读取 /proc/cpuinfo 的特性标志, 无法判断时以AES-GCM与ChaCha20-Poly1305的实测速度为准</p>
+     *
+     * @return true:是/false:否
+     */
+    public static boolean isAESAccelerated() {
+        return AESAccelerationHolder.IS_ACCELERATED;
+    }
+
+    private static final class AESAccelerationHolder {
+        private static final boolean IS_ACCELERATED = detect();
+
+        private static boolean detect() {
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+                return false;
+            }
+            Boolean ret = readCpuAESFeature();
+            if (ret != null) {
+                return ret;
+            }
+            byte[] data = new byte[AEAD_BENCHMARK_SIZE];
+            byte[] key = new byte[CHACHA20_KEY_LENGTH];
+            byte[] nonce = new byte[GCM_IV_LENGTH];
+            long aes = Long.MAX_VALUE;
+            long chaCha = Long.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                nonce[0]++;
+                long start = System.nanoTime();
+                aeadTemplate(AEAD_AES_GCM, data, key, nonce, null, true);
+                long middle = System.nanoTime();
+                aeadTemplate(AEAD_CHACHA20_POLY1305, data, key, nonce, null, true);
+                long end = System.nanoTime();
+                // 首轮用于预热
+                if (i > 0) {
+                    aes = Math.min(aes, middle - start);
+                    chaCha = Math.min(chaCha, end - middle);
+                }
+            }
+            return aes <= chaCha;
+        }
+
+        private static Boolean readCpuAESFeature() {
+            BufferedReader reader = null;
+            try {
+                reader = new BufferedReader(new FileReader("/proc/cpuinfo"));
+                String line;
+                Boolean ret = null;
+                while ((line = reader.readLine()) != null) {
+                    // ARM为Features, x86为flags
+                    if (!line.startsWith("Features") && !line.startsWith("flags")) {
+                        continue;
+                    }
+                    int index = line.indexOf(':');
+                    if (index == -1) {
+                        continue;
+                    }
+                    ret = false;
+                    for (String feature : line.substring(index + 1).trim().split("\\s+")) {
+                        if ("aes".equals(feature)) {
+                            return true;
+                        }
+                    }
+                }
+                return ret;
+            } catch (IOException e) {
+                return null;
+            } finally {
+                CloseUtils.closeQuietly(reader);
+            }
+        }
+    }
+
+    private static byte[] aeadTemplate(final int aead,
+                                       final byte[] data,
+                                       final byte[] key,
+                                       final byte[] nonce,
+                                       final byte[] aad,
+                                       final boolean isEncrypt) {
+        if (aead == AEAD_CHACHA20_POLY1305) {
+            return chaCha20Poly1305Template(data, key, nonce, aad, isEncrypt);
+        }
+        if (aead != AEAD_AES_GCM || Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+            return null;
+        }
+        Cipher cipher = null;
+        try {
+            cipher = CIPHER_CACHE.obtain(GCM_TRANSFORMATION);
+            initCipher(cipher, isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE,
+                    key, "AES", GCM_TRANSFORMATION, nonce);
+            if (aad != null) {
+                cipher.updateAAD(aad);
+            }
+            return cipher.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            CIPHER_CACHE.recycle(GCM_TRANSFORMATION, cipher);
+        }
+    }
+
+    private static byte[] joins(final byte[] prefix, final byte[] suffix) {
+        if (suffix == null || suffix.length == 0) {
+            return prefix;
+        }
+        byte[] ret = Arrays.copyOf(prefix, prefix.length + suffix.length);
+        System.arraycopy(suffix, 0, ret, prefix.length, suffix.length);
+        return ret;
+    }
+
+    /*
+     *  ########## 密钥派生相关 ##########
+     */
+
+    /**
+     * 默认PBKDF2伪随机函数
+     */
+    public static final String PBKDF2_HMAC = "HmacSHA256";
+    /**
+     * 校准所得迭代次数下限
+     */
+    private static final int PBKDF2_MIN_ITERATIONS = 10000;
+    private static final int PBKDF2_BENCHMARK_ITERATIONS = 2000;
+    private static final String ENCRYPT_SP_NAME = "x_utils_encrypt";
+    private static final String PBKDF2_SP_KEY = "pbkdf2_iterations_";
+    private static final int DERIVED_KEY_CACHE_SIZE = 32;
+
+    private static final Map<String, Integer> PBKDF2_ITERATIONS = new HashMap<>();
+    private static final Object ENCRYPT_SP_LOCK = new Object();
+
+    private static final Map<String, byte[]> DERIVED_KEY_CACHE =
+            new LinkedHashMap<String, byte[]>(DERIVED_KEY_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                    return size() > DERIVED_KEY_CACHE_SIZE;
+                }
+            };
+
+    /**
+     * PBKDF2-HMAC-SHA256密钥派生
+     * <p>派生结果在进程内缓存, 相同参数不再重复计算; 缓存键为进程内随机秘钥下的HMAC, 不保存口令</p>
+     *
+     * @param password   口令
+     * @param salt       盐
+     * @param iterations 迭代次数
+     * @param keyLength  密钥字节数: AES-128为16, AES-256为32
+     * @return 密钥
+     */
+    public static byte[] deriveKeyPBKDF2(final char[] password,
+                                         final byte[] salt,
+                                         final int iterations,
+                                         final int keyLength) {
+        return deriveKeyPBKDF2(password, salt, iterations, keyLength, PBKDF2_HMAC);
+    }
+
+    /**
+     * PBKDF2密钥派生
+     * <p>派生结果在进程内缓存, 相同参数不再重复计算</p>
+     *
+     * @param password   口令
+     * @param salt       盐
+     * @param iterations 迭代次数
+     * @param keyLength  密钥字节数
+     * @param hmac       伪随机函数: <i>HmacSHA1</i>, <i>HmacSHA256</i>, <i>HmacSHA512</i>
+     * @return 密钥
+     */
+    public static byte[] deriveKeyPBKDF2(final char[] password,
+                                         final byte[] salt,
+                                         final int iterations,
+                                         final int keyLength,
+                                         final String hmac) {
+        if (password == null || password.length == 0 || salt == null
+                || iterations <= 0 || keyLength <= 0) {
+            return null;
+        }
+        byte[] passwordBytes = toUTF8(password);
+        Mac mac = null;
+        try {
+            String cacheKey = getDerivedKeyCacheKey(passwordBytes, salt, iterations, keyLength, hmac);
+            synchronized (DERIVED_KEY_CACHE) {
+                byte[] ret = DERIVED_KEY_CACHE.get(cacheKey);
+                if (ret != null) {
+                    return ret.clone();
+                }
+            }
+            mac = MAC_CACHE.obtain(hmac);
+            mac.init(new SecretKeySpec(passwordBytes, hmac));
+            byte[] ret = pbkdf2(mac, salt, iterations, keyLength);
+            synchronized (DERIVED_KEY_CACHE) {
+                DERIVED_KEY_CACHE.put(cacheKey, ret.clone());
+            }
+            return ret;
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            Arrays.fill(passwordBytes, (byte) 0);
+            MAC_CACHE.recycle(hmac, mac);
+        }
+    }
+
+    /**
+     * 按设备校准的迭代次数派生PBKDF2-HMAC-SHA256密钥
+     * <p>迭代次数因设备而异, 须与密文一同保存, 解密时改用 {@link #deriveKeyPBKDF2(char[], byte[], int, int)}</p>
+     *
+     * @param password     口令
+     * @param salt         盐
+     * @param keyLength    密钥字节数
+     * @param targetMillis 单次派生目标耗时 (毫秒)
+     * @return 密钥
+     */
+    public static byte[] deriveKeyPBKDF2(final char[] password,
+                                         final byte[] salt,
+                                         final int keyLength,
+                                         final long targetMillis) {
+        return deriveKeyPBKDF2(password, salt, getPBKDF2Iterations(targetMillis), keyLength);
+    }
+
+    /**
+     * 获取满足目标耗时的PBKDF2-HMAC-SHA256迭代次数
+     * <p>首次调用时在当前线程基准测试并持久化, 建议于子线程预先调用;
+     * 测试期间不阻塞其他目标耗时或已有结果的调用</p>
+     *
+     * @param targetMillis 单次派生目标耗时 (毫秒)
+     * @return 迭代次数, 不低于10000
+     */
+    public static int getPBKDF2Iterations(final long targetMillis) {
+        String key = PBKDF2_SP_KEY + PBKDF2_HMAC + "_" + targetMillis;
+        synchronized (PBKDF2_ITERATIONS) {
+            Integer iterations = PBKDF2_ITERATIONS.get(key);
+            if (iterations != null) {
+                return iterations;
+            }
+        }
+        // 在锁外读取持久化结果及基准测试, 发布时再次检查, 并发校准时以先发布者为准
+        SPUtils.SP sp = getEncryptSP();
+        int ret = sp == null ? -1 : sp.getInt(key, -1);
+        boolean isCalibrated = false;
+        if (ret <= 0) {
+            ret = calibratePBKDF2(targetMillis);
+            isCalibrated = true;
+        }
+        synchronized (PBKDF2_ITERATIONS) {
+            Integer iterations = PBKDF2_ITERATIONS.get(key);
+            if (iterations != null) {
+                return iterations;
+            }
+            PBKDF2_ITERATIONS.put(key, ret);
+        }
+        if (isCalibrated && sp != null) {
+            sp.put(key, ret);
+        }
+        return ret;
+    }
+
+    /**
+     * 清理已派生密钥缓存
+     */
+    public static void clearDerivedKeyCache() {
+        synchronized (DERIVED_KEY_CACHE) {
+            DERIVED_KEY_CACHE.clear();
+        }
+    }
+
+    /**
+     * 以进程内随机秘钥的HMAC作为缓存键, 缓存键离开本进程后无法用于离线猜测口令
+     */
+    private static String getDerivedKeyCacheKey(final byte[] passwordBytes,
+                                                final byte[] salt,
+                                                final int iterations,
+                                                final int keyLength,
+                                                final String hmac) throws GeneralSecurityException {
+        byte[] params = new byte[12];
+        putInt(params, 0, iterations);
+        putInt(params, 4, keyLength);
+        putInt(params, 8, salt.length);
+        Mac mac = MAC_CACHE.obtain(PBKDF2_HMAC);
+        try {
+            mac.init(new SecretKeySpec(DerivedKeyCacheSecretHolder.SECRET, PBKDF2_HMAC));
+            mac.update(params);
+            mac.update(salt);
+            mac.update(passwordBytes);
+            return hmac + ":" + bytes2HexString(mac.doFinal());
+        } finally {
+            MAC_CACHE.recycle(PBKDF2_HMAC, mac);
+        }
+    }
+
+    private static final class DerivedKeyCacheSecretHolder {
+        private static final byte[] SECRET = createSecret();
+
+        private static byte[] createSecret() {
+            byte[] ret = new byte[32];
+            RANDOM.nextBytes(ret);
+            return ret;
+        }
+    }
+
+    private static SPUtils.SP getEncryptSP() {
+        try {
+            SPUtils.SP sp = SPUtils.getInstance(ENCRYPT_SP_NAME);
+            // 系统升级后设备性能及Provider可能变化, 需重新校准;
+            // 加锁检查, 避免并发调用方在另一方写入结果后再次清空
+            synchronized (ENCRYPT_SP_LOCK) {
+                if (!Build.FINGERPRINT.equals(sp.getString("fingerprint", null))) {
+                    sp.clear(true);
+                    sp.put("fingerprint", Build.FINGERPRINT);
+                }
+            }
+            return sp;
+        } catch (UnsupportedOperationException e) {
+            // X-Utils未初始化, 仅缓存于内存
+            return null;
+        }
+    }
+
+    private static int calibratePBKDF2(final long targetMillis) {
+        Mac mac = null;
+        try {
+            mac = MAC_CACHE.obtain(PBKDF2_HMAC);
+            mac.init(new SecretKeySpec(new byte[]{'x'}, PBKDF2_HMAC));
+            byte[] salt = new byte[16];
+            long best = Long.MAX_VALUE;
+            // 取多轮最快值, 排除首轮类加载与JIT的影响
+            for (int i = 0; i < 3; i++) {
+                long start = System.nanoTime();
+                pbkdf2(mac, salt, PBKDF2_BENCHMARK_ITERATIONS, 32);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            long iterations = PBKDF2_BENCHMARK_ITERATIONS * targetMillis * 1000000L / Math.max(1, best);
+            iterations = Math.min(Integer.MAX_VALUE, Math.max(PBKDF2_MIN_ITERATIONS, iterations));
+            return (int) (iterations / 1000 * 1000);
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return PBKDF2_MIN_ITERATIONS;
+        } finally {
+            MAC_CACHE.recycle(PBKDF2_HMAC, mac);
+        }
+    }
+
+    private static byte[] pbkdf2(final Mac mac,
+                                 final byte[] salt,
+                                 final int iterations,
+                                 final int keyLength) throws GeneralSecurityException {
+        int hashLen = mac.getMacLength();
+        int blocks = (keyLength + hashLen - 1) / hashLen;
+        byte[] ret = new byte[keyLength];
+        byte[] u = new byte[hashLen];
+        byte[] t = new byte[hashLen];
+        byte[] index = new byte[4];
+        for (int i = 1; i <= blocks; i++) {
+            putInt(index, 0, i);
+            mac.update(salt);
+            mac.update(index);
+            mac.doFinal(u, 0);
+            System.arraycopy(u, 0, t, 0, hashLen);
+            for (int j = 1; j < iterations; j++) {
+                mac.update(u);
+                mac.doFinal(u, 0);
+                for (int k = 0; k < hashLen; k++) {
+                    t[k] ^= u[k];
+                }
+            }
+            int offset = (i - 1) * hashLen;
+            System.arraycopy(t, 0, ret, offset, Math.min(hashLen, keyLength - offset));
+        }
+        return ret;
+    }
+
+    private static byte[] toUTF8(final char[] chars) {
+        ByteBuffer buffer = Charset.forName("UTF-8").encode(CharBuffer.wrap(chars));
+        byte[] ret = new byte[buffer.remaining()];
+        buffer.get(ret);
+        if (buffer.hasArray()) {
+            Arrays.fill(buffer.array(), (byte) 0);
+        }
+        return ret;
+    }
+
+    /*
+     *  ########## RSA相关 ##########
+     */
+
+    /**
+     * RSA加密(Base64)
+     *
+     * @param data           明文
+     * @param key            秘钥
+     * @param isPublicKey    是否为公钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 密文
+     */
+    public static byte[] encryptRSA2Base64(final byte[] data,
+                                           final byte[] key,
+                                           final boolean isPublicKey,
+                                           final String transformation) {
+        return base64Encode(encryptRSA(data, key, isPublicKey, transformation));
+    }
+
+    /**
+     * RSA加密(Hex)
+     *
+     * @param data           明文
+     * @param key            秘钥
+     * @param isPublicKey    是否为公钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 密文
+     */
+    public static String encryptRSA2HexString(final byte[] data,
+                                              final byte[] key,
+                                              final boolean isPublicKey,
+                                              final String transformation) {
+        return bytes2HexString(encryptRSA(data, key, isPublicKey, transformation));
+    }
+
+    /**
+     * RSA加密
+     *
+     * @param data           明文
+     * @param key            秘钥
+     * @param isPublicKey    是否为公钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 密文
+     */
+    public static byte[] encryptRSA(final byte[] data,
+                                    final byte[] key,
+                                    final boolean isPublicKey,
+                                    final String transformation) {
+        return rsaTemplate(data, key, isPublicKey, transformation, true);
+    }
+
+    /**
+     * RSA解密(Base64)
+     *
+     * @param data           密文
+     * @param key            秘钥
+     * @param isPublicKey    是否为公钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 明文
+     */
+    public static byte[] decryptBase64RSA(final byte[] data,
+                                          final byte[] key,
+                                          final boolean isPublicKey,
+                                          final String transformation) {
+        return decryptRSA(base64Decode(data), key, isPublicKey, transformation);
+    }
+
+    /**
+     * RSA解密(Hex)
+     *
+     * @param data           密文
+     * @param key            秘钥
+     * @param isPublicKey    是否为公钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 明文
+     */
+    public static byte[] decryptHexStringRSA(final String data,
+                                             final byte[] key,
+                                             final boolean isPublicKey,
+                                             final String transformation) {
+        return decryptRSA(hexString2Bytes(data), key, isPublicKey, transformation);
+    }
+
+    /**
+     * RSA解密
+     *
+     * @param data           密文
+     * @param key            秘钥
+     * @param isPublicKey    是否为公钥
+     * @param transformation 转换: <i>DES/CBC/PKCS5Padding</i>.
+     * @return 明文
+     */
+    public static byte[] decryptRSA(final byte[] data,
+                                    final byte[] key,
+                                    final boolean isPublicKey,
+                                    final String transformation) {
+        return rsaTemplate(data, key, isPublicKey, transformation, false);
+    }
+
+    /**
+     * RSA加密
+     *
+     * @param data           明文
+     * @param key            已解析的公钥或私钥
+     * @param transformation 转换: <i>RSA/ECB/PKCS1Padding</i>.
+     * @return 密文
+     */
+    public static byte[] encryptRSA(final byte[] data,
+                                    final Key key,
+                                    final String transformation) {
+        return rsaTemplate(data, key, transformation, true);
+    }
+
+    /**
+     * RSA解密
+     *
+     * @param data           密文
+     * @param key            已解析的公钥或私钥
+     * @param transformation 转换: <i>RSA/ECB/PKCS1Padding</i>.
+     * @return 明文
+     */
+    public static byte[] decryptRSA(final byte[] data,
+                                    final Key key,
+                                    final String transformation) {
+        return rsaTemplate(data, key, transformation, false);
+    }
+
+    /**
+     * 解析RSA公钥 (X.509)
+     * <p>解析结果按秘钥摘要缓存</p>
+     *
+     * @param key 公钥
+     * @return 公钥
+     */
+    public static PublicKey getRSAPublicKey(final byte[] key) {
+        return (PublicKey) getKey(key, true, "RSA");
+    }
+
+    /**
+     * 解析RSA私钥 (PKCS#8)
+     * <p>解析结果按秘钥摘要缓存</p>
+     *
+     * @param key 私钥
+     * @return 私钥
+     */
+    public static PrivateKey getRSAPrivateKey(final byte[] key) {
+        return (PrivateKey) getKey(key, false, "RSA");
+    }
+
+    /**
+     * 清理已解析秘钥缓存
+     */
+    public static void clearKeyCache() {
+        synchronized (KEY_CACHE) {
+            KEY_CACHE.clear();
+        }
+    }
+
+    /**
+     * 已解析秘钥缓存容量
+     */
+    private static final int KEY_CACHE_SIZE = 16;
+
+    private static final Map<String, Key> KEY_CACHE =
+            new LinkedHashMap<String, Key>(KEY_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Key> eldest) {
+                    return size() > KEY_CACHE_SIZE;
+                }
+            };
+
+    private static Key getKey(final byte[] key, final boolean isPublicKey, final String algorithm) {
+        if (key == null || key.length == 0) {
+            return null;
+        }
+        String cacheKey = algorithm + (isPublicKey ? ":pub:" : ":pri:")
+                + bytes2HexString(hashTemplate(key, "SHA-256"));
+        synchronized (KEY_CACHE) {
+            Key ret = KEY_CACHE.get(cacheKey);
+            if (ret != null) {
+                return ret;
+            }
+        }
+        Key ret;
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(algorithm);
+            if (isPublicKey) {
+                ret = keyFactory.generatePublic(new X509EncodedKeySpec(key));
+            } else {
+                ret = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(key));
+            }
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            e.printStackTrace();
+            return null;
+        }
+        if (ret != null) {
+            synchronized (KEY_CACHE) {
+                KEY_CACHE.put(cacheKey, ret);
+            }
+        }
+        return ret;
+    }
+
+    private static byte[] rsaTemplate(final byte[] data,
+                                      final byte[] key,
+                                      final boolean isPublicKey,
+                                      final String transformation,
+                                      final boolean isEncrypt) {
+        if (data == null || data.length == 0 || key == null || key.length == 0) {
+            return null;
+        }
+        return rsaTemplate(data, getKey(key, isPublicKey, "RSA"), transformation, isEncrypt);
+    }
+
+    /**
+     * RSA加密
+     *
+     * @param data           明文
+     * @param offset         起始位置
+     * @param len            长度
+     * @param key            已解析的公钥或私钥
+     * @param transformation 转换: <i>RSA/ECB/PKCS1Padding</i>.
+     * @return 密文
+     */
+    public static byte[] encryptRSA(final byte[] data,
+                                    final int offset,
+                                    final int len,
+                                    final Key key,
+                                    final String transformation) {
+        if (isOutOfBounds(data, offset, len) || len == 0 || key == null) {
+            return null;
+        }
+        return rsaTemplate(data, offset, len, key, transformation, true);
+    }
+
+    /**
+     * RSA解密
+     *
+     * @param data           密文
+     * @param offset         起始位置
+     * @param len            长度
+     * @param key            已解析的公钥或私钥
+     * @param transformation 转换: <i>RSA/ECB/PKCS1Padding</i>.
+     * @return 明文
+     */
+    public static byte[] decryptRSA(final byte[] data,
+                                    final int offset,
+                                    final int len,
+                                    final Key key,
+                                    final String transformation) {
+        if (isOutOfBounds(data, offset, len) || len == 0 || key == null) {
+            return null;
+        }
+        return rsaTemplate(data, offset, len, key, transformation, false);
+    }
+
+    /**
+     * RSA加密
+     * <p>输出写入调用方数组, 所需空间见 {@link #getRSAOutputSize}</p>
+     *
+     * @param input          明文
+     * @param inputOffset    起始位置
+     * @param len            长度
+     * @param output         密文数组
+     * @param outputOffset   输出起始位置
+     * @param key            已解析的公钥或私钥
+     * @param transformation 转换: <i>RSA/ECB/PKCS1Padding</i>.
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int encryptRSA(final byte[] input,
+                                 final int inputOffset,
+                                 final int len,
+                                 final byte[] output,
+                                 final int outputOffset,
+                                 final Key key,
+                                 final String transformation) {
+        if (isOutOfBounds(input, inputOffset, len) || isOutOfBounds(output, outputOffset, 0)) {
+            return -1;
+        }
+        return rsaTemplate(ByteBuffer.wrap(input, inputOffset, len),
+                ByteBuffer.wrap(output, outputOffset, output.length - outputOffset),
+                key, transformation, true);
+    }
+
+    /**
+     * RSA解密
+     * <p>输出写入调用方数组, 所需空间见 {@link #getRSAOutputSize}</p>
+     *
+     * @param input          密文
+     * @param inputOffset    起始位置
+     * @param len            长度
+     * @param output         明文数组
+     * @param outputOffset   输出起始位置
+     * @param key            已解析的公钥或私钥
+     * @param transformation 转换: <i>RSA/ECB/PKCS1Padding</i>.
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int decryptRSA(final byte[] input,
+                                 final int inputOffset,
+                                 final int len,
+                                 final byte[] output,
+                                 final int outputOffset,
+                                 final Key key,
+                                 final String transformation) {
+        if (isOutOfBounds(input, inputOffset, len) || isOutOfBounds(output, outputOffset, 0)) {
+            return -1;
+        }
+        return rsaTemplate(ByteBuffer.wrap(input, inputOffset, len),
+                ByteBuffer.wrap(output, outputOffset, output.length - outputOffset),
+                key, transformation, false);
+    }
+
+    /**
+     * RSA加密
+     * <p>输出写入调用方缓冲区, 所需空间见 {@link #getRSAOutputSize}</p>
+     *
+     * @param input          明文
+     * @param output         密文缓冲区
+     * @param key            已解析的公钥或私钥
+     * @param transformation 转换: <i>RSA/ECB/PKCS1Padding</i>.
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int encryptRSA(final ByteBuffer input,
+                                 final ByteBuffer output,
+                                 final Key key,
+                                 final String transformation) {
+        return rsaTemplate(input, output, key, transformation, true);
+    }
+
+    /**
+     * RSA解密
+     * <p>输出写入调用方缓冲区, 所需空间见 {@link #getRSAOutputSize}</p>
+     *
+     * @param input          密文
+     * @param output         明文缓冲区
+     * @param key            已解析的公钥或私钥
+     * @param transformation 转换: <i>RSA/ECB/PKCS1Padding</i>.
+     * @return 写入字节数, 失败返回-1
+     */
+    public static int decryptRSA(final ByteBuffer input,
+                                 final ByteBuffer output,
+                                 final Key key,
+                                 final String transformation) {
+        return rsaTemplate(input, output, key, transformation, false);
+    }
+
+    /**
+     * 获取RSA分块处理所需的最大输出长度
+     *
+     * @param len            输入长度
+     * @param key            已解析的公钥或私钥
+     * @param transformation 转换: <i>RSA/ECB/PKCS1Padding</i>.
+     * @param isEncrypt      是否为加密
+     * @return 输出长度, 无法确定模长时返回-1
+     */
+    public static int getRSAOutputSize(final int len,
+                                       final Key key,
+                                       final String transformation,
+                                       final boolean isEncrypt) {
+        int modulusLen = getRSAModulusLength(key);
+        if (modulusLen <= 0 || len <= 0) {
+            return modulusLen <= 0 ? -1 : 0;
+        }
+        return getRSAOutputSize(len, modulusLen, getRSAMaxDataLength(modulusLen, transformation), isEncrypt);
+    }
+
+    private static int getRSAOutputSize(final int len,
+                                        final int modulusLen,
+                                        final int maxDataLen,
+                                        final boolean isEncrypt) {
+        if (isEncrypt) {
+            return (len + maxDataLen - 1) / maxDataLen * modulusLen;
+        }
+        // 解密时每块输出不超过maxDataLen, 但Cipher要求当前块按模长预留空间
+        int count = (len + modulusLen - 1) / modulusLen;
+        return (count - 1) * maxDataLen + modulusLen;
+    }
+
+    private static int getRSAModulusLength(final Key key) {
+        if (key instanceof RSAKey) {
+            return (((RSAKey) key).getModulus().bitLength() + 7) >> 3;
+        }
+        return -1;
+    }
+
+    /**
+     * 按填充方式计算单块最大明文长度
+     * <p>PKCS1: k - 11; OAEP: k - 2 * hLen - 2; NoPadding: k</p>
+     */
+    private static int getRSAMaxDataLength(final int modulusLen, final String transformation) {
+        String padding = transformation == null ? "" : transformation.toUpperCase(Locale.US);
+        if (padding.contains("NOPADDING")) {
+            return modulusLen;
+        }
+        if (padding.contains("OAEP")) {
+            int hashLen = 20;
+            if (padding.contains("SHA-224") || padding.contains("SHA224")) {
+                hashLen = 28;
+            } else if (padding.contains("SHA-256") || padding.contains("SHA256")) {
+                hashLen = 32;
+            } else if (padding.contains("SHA-384") || padding.contains("SHA384")) {
+                hashLen = 48;
+            } else if (padding.contains("SHA-512") || padding.contains("SHA512")) {
+                hashLen = 64;
+            }
+            return modulusLen - 2 * hashLen - 2;
+        }
+        return modulusLen - 11;
+    }
+
+    private static byte[] rsaTemplate(final byte[] data,
+                                      final Key rsaKey,
+                                      final String transformation,
+                                      final boolean isEncrypt) {
+        if (data == null || data.length == 0 || rsaKey == null) {
+            return null;
+        }
+        return rsaTemplate(data, 0, data.length, rsaKey, transformation, isEncrypt);
+    }
+
+    private static byte[] rsaTemplate(final byte[] data,
+                                      final int offset,
+                                      final int len,
+                                      final Key rsaKey,
+                                      final String transformation,
+                                      final boolean isEncrypt) {
+        int modulusLen = getRSAModulusLength(rsaKey);
+        if (modulusLen <= 0) {
+            return null;
+        }
+        int maxDataLen = getRSAMaxDataLength(modulusLen, transformation);
+        int blockLen = isEncrypt ? maxDataLen : modulusLen;
+        if (blockLen <= 0) {
+            return null;
+        }
+        Cipher cipher = null;
+        try {
+            cipher = CIPHER_CACHE.obtain(transformation);
+            cipher.init(isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, rsaKey);
+            byte[] ret = new byte[getRSAOutputSize(len, modulusLen, maxDataLen, isEncrypt)];
+            int retLen = 0;
+            for (int index = offset, end = offset + len; index < end; index += blockLen) {
+                retLen += cipher.doFinal(data, index, Math.min(blockLen, end - index), ret, retLen);
+            }
+            return retLen == ret.length ? ret : Arrays.copyOf(ret, retLen);
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            recycleRSACipher(transformation, cipher, rsaKey);
+        }
+    }
+
+    private static int rsaTemplate(final ByteBuffer input,
+                                   final ByteBuffer output,
+                                   final Key rsaKey,
+                                   final String transformation,
+                                   final boolean isEncrypt) {
+        if (input == null || output == null || !input.hasRemaining() || rsaKey == null) {
+            return -1;
+        }
+        int modulusLen = getRSAModulusLength(rsaKey);
+        if (modulusLen <= 0) {
+            return -1;
+        }
+        int maxDataLen = getRSAMaxDataLength(modulusLen, transformation);
+        int blockLen = isEncrypt ? maxDataLen : modulusLen;
+        if (blockLen <= 0
+                || output.remaining() < getRSAOutputSize(input.remaining(), modulusLen, maxDataLen, isEncrypt)) {
+            return -1;
+        }
+        Cipher cipher = null;
+        int limit = input.limit();
+        try {
+            cipher = CIPHER_CACHE.obtain(transformation);
+            cipher.init(isEncrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, rsaKey);
+            int ret = 0;
+            while (input.position() < limit) {
+                input.limit(Math.min(limit, input.position() + blockLen));
+                ret += cipher.doFinal(input, output);
+            }
+            return ret;
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return -1;
+        } finally {
+            input.limit(limit);
+            recycleRSACipher(transformation, cipher, rsaKey);
+        }
+    }
+
+    /**
+     * 私钥初始化的引擎用后即弃, 不放回缓存
+     */
+    private static void recycleRSACipher(final String transformation, final Cipher cipher, final Key rsaKey) {
+        if (!(rsaKey instanceof PrivateKey)) {
+            CIPHER_CACHE.recycle(transformation, cipher);
+        }
+    }
+
+    /*
+     *  ########## 秘钥对池相关 ##########
+     */
+
+    private static final int KEY_PAIR_POOL_MAX_SIZE = 8;
+
+    /**
+     * 各秘钥长度的秘钥对池, 键为秘钥长度
+     */
+    private static final Map<Integer, KeyPairPool> KEY_PAIR_POOLS = new HashMap<>();
+    private static final AtomicBoolean KEY_PAIR_RECEIVER_REGISTERED = new AtomicBoolean();
+
+    /**
+     * 设置RSA秘钥对池容量
+     * <p>池在设备充电或熄屏时于低优先级后台线程补充, 其余时间不占用CPU</p>
+     *
+     * @param keySize 秘钥长度, 如 2048
+     * @param size    预生成数量, 0为关闭, 最大8
+     */
+    public static void setRSAKeyPairPoolSize(final int keySize, final int size) {
+        if (keySize <= 0) {
+            return;
+        }
+        int capacity = Math.max(0, Math.min(KEY_PAIR_POOL_MAX_SIZE, size));
+        synchronized (KEY_PAIR_POOLS) {
+            KeyPairPool pool = KEY_PAIR_POOLS.get(keySize);
+            if (pool == null) {
+                if (capacity == 0) {
+                    return;
+                }
+                pool = new KeyPairPool();
+                KEY_PAIR_POOLS.put(keySize, pool);
+            }
+            pool.mCapacity = capacity;
+            while (pool.mPairs.size() > capacity) {
+                pool.mPairs.removeLast();
+            }
+        }
+        registerKeyPairReceiver();
+        scheduleKeyPairRefill();
+    }
+
+    /**
+     * 获取RSA秘钥对
+     * <p>池中有预生成的秘钥对时立即返回, 否则在当前线程生成; 每个秘钥对只返回一次</p>
+     *
+     * @param keySize 秘钥长度, 如 2048
+     * @return 秘钥对, 失败返回null
+     */
+    public static KeyPair getRSAKeyPair(final int keySize) {
+        KeyPair ret = null;
+        synchronized (KEY_PAIR_POOLS) {
+            KeyPairPool pool = KEY_PAIR_POOLS.get(keySize);
+            if (pool != null) {
+                ret = pool.mPairs.pollFirst();
+            }
+        }
+        if (ret == null) {
+            ret = generateRSAKeyPair(keySize);
+        }
+        scheduleKeyPairRefill();
+        return ret;
+    }
+
+    /**
+     * 获取池中可用的RSA秘钥对数量
+     *
+     * @param keySize 秘钥长度
+     * @return 数量
+     */
+    public static int getRSAKeyPairPoolCount(final int keySize) {
+        synchronized (KEY_PAIR_POOLS) {
+            KeyPairPool pool = KEY_PAIR_POOLS.get(keySize);
+            return pool == null ? 0 : pool.mPairs.size();
+        }
+    }
+
+    private static final class KeyPairPool {
+        private final ArrayDeque<KeyPair> mPairs = new ArrayDeque<>();
+        private int mCapacity;
+    }
+
+    private static final class KeyPairExecutorHolder {
+        private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+        private static ThreadPoolExecutor createExecutor() {
+            // 单线程且独立于并行线程池, 避免秘钥生成占用摘要及加解密的工作线程
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(final Runnable r) {
+                            Thread thread = new Thread(new Runnable() {
+                                @Override
+                                public void run() {
+                                    Process.setThreadPriority(Process.THREAD_PRIORITY_LOWEST);
+                                    r.run();
+                                }
+                            }, "X-KeyPair");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    private static final class KeyPairPoolReceiver extends BroadcastReceiver {
+        @Override
+        public void onReceive(final Context context, final Intent intent) {
+            scheduleKeyPairRefill();
+        }
+    }
+
+    private static void registerKeyPairReceiver() {
+        if (KEY_PAIR_RECEIVER_REGISTERED.getAndSet(true)) {
+            return;
+        }
+        try {
+            IntentFilter filter = new IntentFilter();
+            filter.addAction(Intent.ACTION_POWER_CONNECTED);
+            filter.addAction(Intent.ACTION_SCREEN_OFF);
+            Utils.getApp().registerReceiver(new KeyPairPoolReceiver(), filter);
+        } catch (UnsupportedOperationException e) {
+            // X-Utils未初始化, 仅在取用时补充
+            KEY_PAIR_RECEIVER_REGISTERED.set(false);
+        }
+    }
+
+    private static void scheduleKeyPairRefill() {
+        ThreadPoolExecutor executor = KeyPairExecutorHolder.EXECUTOR;
+        // 已有补充任务排队时不再重复提交
+        if (!executor.getQueue().isEmpty()) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                refillKeyPairPools();
+            }
+        });
+    }
+
+    private static void refillKeyPairPools() {
+        while (isKeyPairRefillAllowed()) {
+            int keySize = 0;
+            synchronized (KEY_PAIR_POOLS) {
+                for (Map.Entry<Integer, KeyPairPool> entry : KEY_PAIR_POOLS.entrySet()) {
+                    KeyPairPool pool = entry.getValue();
+                    if (pool.mPairs.size() < pool.mCapacity) {
+                        keySize = entry.getKey();
+                        break;
+                    }
+                }
+            }
+            if (keySize == 0) {
+                return;
+            }
+            KeyPair pair = generateRSAKeyPair(keySize);
+            if (pair == null) {
+                return;
+            }
+            synchronized (KEY_PAIR_POOLS) {
+                KeyPairPool pool = KEY_PAIR_POOLS.get(keySize);
+                if (pool != null && pool.mPairs.size() < pool.mCapacity) {
+                    pool.mPairs.addLast(pair);
+                }
+            }
+        }
+    }
+
+    /**
+     * 充电或熄屏时允许补充
+     */
+    private static boolean isKeyPairRefillAllowed() {
+        Context context;
+        try {
+            context = Utils.getApp();
+        } catch (UnsupportedOperationException e) {
+            return true;
+        }
+        Intent battery = context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        if (battery != null && battery.getIntExtra(BatteryManager.EXTRA_PLUGGED, 0) != 0) {
+            return true;
+        }
+        PowerManager pm = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        if (pm == null) {
+            return false;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT_WATCH) {
+            return !pm.isInteractive();
+        }
+        //noinspection deprecation
+        return !pm.isScreenOn();
+    }
+
+    private static KeyPair generateRSAKeyPair(final int keySize) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(keySize, RANDOM);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /*
+     *  ########## 签名相关 ##########
+     */
+
+    /**
+     * 批量验签结果: 通过
+     */
+    public static final int VERIFY_PASS = 1;
+    /**
+     * 批量验签结果: 未通过
+     */
+    public static final int VERIFY_FAIL = 0;
+    /**
+     * 批量验签结果: 因提前终止未验证
+     */
+    public static final int VERIFY_SKIP = -1;
+
+    private static final int VERIFY_PARALLEL_THRESHOLD = 8;
+
+    /**
+     * 解析EC公钥 (X.509)
+     * <p>解析结果按秘钥摘要缓存</p>
+     *
+     * @param key 公钥
+     * @return 公钥
+     */
+    public static PublicKey getECPublicKey(final byte[] key) {
+        return (PublicKey) getKey(key, true, "EC");
+    }
+
+    /**
+     * 解析EC私钥 (PKCS#8)
+     * <p>解析结果按秘钥摘要缓存</p>
+     *
+     * @param key 私钥
+     * @return 私钥
+     */
+    public static PrivateKey getECPrivateKey(final byte[] key) {
+        return (PrivateKey) getKey(key, false, "EC");
+    }
+
+    /**
+     * 签名
+     *
+     * @param data       数据
+     * @param privateKey 私钥 (PKCS#8)
+     * @param algorithm  算法: <i>SHA256withRSA</i>, <i>SHA256withECDSA</i> 等
+     * @return 签名
+     */
+    public static byte[] sign(final byte[] data, final byte[] privateKey, final String algorithm) {
+        return sign(data, getKey(privateKey, false, getSignatureKeyAlgorithm(algorithm)), algorithm);
+    }
+
+    /**
+     * 签名
+     *
+     * @param data       数据
+     * @param privateKey 私钥
+     * @param algorithm  算法: <i>SHA256withRSA</i>, <i>SHA256withECDSA</i> 等
+     * @return 签名
+     */
+    public static byte[] sign(final byte[] data, final Key privateKey, final String algorithm) {
+        if (data == null || !(privateKey instanceof PrivateKey)) {
+            return null;
+        }
+        try {
+            // 私钥初始化的引擎用后即弃, 不放回缓存
+            Signature signature = SIGNATURE_CACHE.obtain(algorithm);
+            signature.initSign((PrivateKey) privateKey);
+            signature.update(data);
+            return signature.sign();
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * 验签
+     *
+     * @param data      数据
+     * @param sign      签名
+     * @param publicKey 公钥 (X.509)
+     * @param algorithm 算法: <i>SHA256withRSA</i>, <i>SHA256withECDSA</i> 等
+     * @return true:通过/false:未通过
+     */
+    public static boolean verify(final byte[] data,
+                                 final byte[] sign,
+                                 final byte[] publicKey,
+                                 final String algorithm) {
+        return verify(data, sign, getKey(publicKey, true, getSignatureKeyAlgorithm(algorithm)), algorithm);
+    }
+
+    /**
+     * 验签
+     *
+     * @param data      数据
+     * @param sign      签名
+     * @param publicKey 公钥
+     * @param algorithm 算法: <i>SHA256withRSA</i>, <i>SHA256withECDSA</i> 等
+     * @return true:通过/false:未通过
+     */
+    public static boolean verify(final byte[] data,
+                                 final byte[] sign,
+                                 final Key publicKey,
+                                 final String algorithm) {
+        if (data == null || sign == null || !(publicKey instanceof PublicKey)) {
+            return false;
+        }
+        Signature signature = null;
+        try {
+            signature = SIGNATURE_CACHE.obtain(algorithm);
+            return verify(signature, data, sign, (PublicKey) publicKey);
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            SIGNATURE_CACHE.recycle(algorithm, signature);
+        }
+    }
+
+    /**
+     * 批量验签
+     * <p>条目分段在并行线程池上验证, 结果与输入一一对应</p>
+     *
+     * @param data            数据
+     * @param signs           签名, 与数据一一对应
+     * @param publicKey       公钥
+     * @param algorithm       算法: <i>SHA256withRSA</i>, <i>SHA256withECDSA</i> 等
+     * @param isStopOnFailure 是否在首个未通过后停止, 其余未验证条目为 {@link #VERIFY_SKIP}
+     * @return 各条目结果: {@link #VERIFY_PASS}, {@link #VERIFY_FAIL}, {@link #VERIFY_SKIP}; 参数错误返回null
+     */
+    public static int[] verifyBatch(final List<byte[]> data,
+                                    final List<byte[]> signs,
+                                    final Key publicKey,
+                                    final String algorithm,
+                                    final boolean isStopOnFailure) {
+        if (data == null || signs == null || data.size() != signs.size()
+                || !(publicKey instanceof PublicKey)) {
+            return null;
+        }
+        final Object[] items = data.toArray();
+        final Object[] signItems = signs.toArray();
+        final int[] ret = new int[items.length];
+        Arrays.fill(ret, VERIFY_SKIP);
+        final AtomicInteger failed = new AtomicInteger();
+        // 细分任务以平衡负载, 并使提前终止尽快生效
+        int taskCount = items.length >= VERIFY_PARALLEL_THRESHOLD
+                ? Runtime.getRuntime().availableProcessors() << 2 : 1;
+        int step = (items.length + taskCount - 1) / Math.max(1, taskCount);
+        List<Callable<Void>> tasks = new ArrayList<>(taskCount);
+        for (int from = 0; from < items.length; from += step) {
+            final int start = from;
+            final int end = Math.min(items.length, from + step);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    Signature signature = SIGNATURE_CACHE.obtain(algorithm);
+                    try {
+                        for (int i = start; i < end; i++) {
+                            if (isStopOnFailure && failed.get() > 0) {
+                                return null;
+                            }
+                            boolean isPass = verify(signature, (byte[]) items[i],
+                                    (byte[]) signItems[i], (PublicKey) publicKey);
+                            ret[i] = isPass ? VERIFY_PASS : VERIFY_FAIL;
+                            if (!isPass) {
+                                failed.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    } finally {
+                        SIGNATURE_CACHE.recycle(algorithm, signature);
+                    }
+                }
+            });
+        }
+        try {
+            invokeAll(tasks);
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        return ret;
+    }
+
+    /**
+     * 批量验签
+     *
+     * @param data            数据
+     * @param signs           签名, 与数据一一对应
+     * @param publicKey       公钥 (X.509)
+     * @param algorithm       算法: <i>SHA256withRSA</i>, <i>SHA256withECDSA</i> 等
+     * @param isStopOnFailure 是否在首个未通过后停止
+     * @return 各条目结果: {@link #VERIFY_PASS}, {@link #VERIFY_FAIL}, {@link #VERIFY_SKIP}; 参数错误返回null
+     */
+    public static int[] verifyBatch(final List<byte[]> data,
+                                    final List<byte[]> signs,
+                                    final byte[] publicKey,
+                                    final String algorithm,
+                                    final boolean isStopOnFailure) {
+        return verifyBatch(data, signs, getKey(publicKey, true, getSignatureKeyAlgorithm(algorithm)),
+                algorithm, isStopOnFailure);
+    }
+
+    private static boolean verify(final Signature signature,
+                                  final byte[] data,
+                                  final byte[] sign,
+                                  final PublicKey publicKey) {
+        if (data == null || sign == null) {
+            return false;
+        }
+        try {
+            signature.initVerify(publicKey);
+            signature.update(data);
+            return signature.verify(sign);
+        } catch (GeneralSecurityException e) {
+            // 签名格式错误视为未通过
+            return false;
+        }
+    }
+
+    private static String getSignatureKeyAlgorithm(final String algorithm) {
+        return algorithm != null && algorithm.toUpperCase(Locale.US).contains("ECDSA") ? "EC" : "RSA";
+    }
+
+    /*
+     *  ########## 数字信封相关 ##########
+     */
+
+    private static final byte[] ENVELOPE_MAGIC = {'X', 'E', 'N', 'V'};
+    private static final int ENVELOPE_VERSION = 1;
+    /**
+     * 秘钥封装方式: RSA-OAEP (SHA-256, MGF1-SHA1)
+     */
+    private static final int ENVELOPE_WRAP_OAEP_SHA256 = 1;
+    private static final String ENVELOPE_WRAP_TRANSFORMATION = "RSA/ECB/OAEPPadding";
+    private static final int ENVELOPE_KEY_LENGTH = 32;
+
+    /**
+     * 数字信封加密
+     * <p>随机AES-256秘钥经AES-GCM分块加密数据, 仅用RSA封装该秘钥</p>
+     * <p>格式: 魔数(4) + 版本(1) + 封装方式(1) + 封装秘钥长度(2) + 封装秘钥 + GCM分块容器</p>
+     *
+     * @param data      明文
+     * @param publicKey RSA公钥
+     * @return 信封
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static byte[] encryptEnvelope(final byte[] data, final Key publicKey) {
+        if (data == null || publicKey == null) {
+            return null;
+        }
+        byte[] key = new byte[ENVELOPE_KEY_LENGTH];
+        RANDOM.nextBytes(key);
+        try {
+            byte[] header = newEnvelopeHeader(key, publicKey);
+            byte[] body = encryptAESGCMChunked(data, key, GCM_CHUNK_SIZE);
+            if (header == null || body == null) {
+                return null;
+            }
+            byte[] ret = Arrays.copyOf(header, header.length + body.length);
+            System.arraycopy(body, 0, ret, header.length, body.length);
+            return ret;
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * 数字信封加密
+     *
+     * @param data      明文
+     * @param publicKey RSA公钥 (X.509)
+     * @return 信封
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static byte[] encryptEnvelope(final byte[] data, final byte[] publicKey) {
+        return encryptEnvelope(data, getRSAPublicKey(publicKey));
+    }
+
+    /**
+     * 数字信封解密
+     *
+     * @param data       信封
+     * @param privateKey RSA私钥
+     * @return 明文, 认证失败返回null
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static byte[] decryptEnvelope(final byte[] data, final Key privateKey) {
+        if (data == null || privateKey == null) {
+            return null;
+        }
+        ByteArrayInputStream is = new ByteArrayInputStream(data);
+        byte[] key = null;
+        try {
+            key = readEnvelopeKey(is, privateKey);
+            int offset = data.length - is.available();
+            return decryptAESGCMChunked(Arrays.copyOfRange(data, offset, data.length), key);
+        } catch (IOException | GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            if (key != null) {
+                Arrays.fill(key, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * 数字信封解密
+     *
+     * @param data       信封
+     * @param privateKey RSA私钥 (PKCS#8)
+     * @return 明文, 认证失败返回null
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static byte[] decryptEnvelope(final byte[] data, final byte[] privateKey) {
+        return decryptEnvelope(data, getRSAPrivateKey(privateKey));
+    }
+
+    /**
+     * 数字信封流式加密
+     * <p>读取至输入流末尾, 不关闭流</p>
+     *
+     * @param is        明文输入流
+     * @param os        信封输出流
+     * @param publicKey RSA公钥
+     * @return true:成功/false:失败
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static boolean encryptEnvelope(final InputStream is,
+                                          final OutputStream os,
+                                          final Key publicKey) {
+        if (is == null || os == null || publicKey == null) {
+            return false;
+        }
+        byte[] key = new byte[ENVELOPE_KEY_LENGTH];
+        RANDOM.nextBytes(key);
+        try {
+            byte[] header = newEnvelopeHeader(key, publicKey);
+            if (header == null) {
+                return false;
+            }
+            os.write(header);
+            gcmChunkedEncrypt(is, os, key, GCM_CHUNK_SIZE);
+            return true;
+        } catch (IOException | GeneralSecurityException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * 数字信封流式解密
+     * <p>逐块认证后输出, 返回false时已写出的明文不可信, 应丢弃</p>
+     *
+     * @param is         信封输入流
+     * @param os         明文输出流
+     * @param privateKey RSA私钥
+     * @return true:成功/false:失败
+     */
+    @RequiresApi(api = Build.VERSION_CODES.KITKAT)
+    public static boolean decryptEnvelope(final InputStream is,
+                                          final OutputStream os,
+                                          final Key privateKey) {
+        if (is == null || os == null || privateKey == null) {
+            return false;
+        }
+        byte[] key = null;
+        try {
+            key = readEnvelopeKey(is, privateKey);
+            gcmChunkedDecrypt(is, os, key);
+            return true;
+        } catch (IOException | GeneralSecurityException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            if (key != null) {
+                Arrays.fill(key, (byte) 0);
+            }
+        }
+    }
+
+    private static byte[] newEnvelopeHeader(final byte[] key, final Key publicKey) {
+        Cipher cipher = null;
+        try {
+            cipher = CIPHER_CACHE.obtain(ENVELOPE_WRAP_TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, publicKey, getEnvelopeWrapSpec());
+            byte[] wrapped = cipher.doFinal(key);
+            byte[] ret = new byte[8 + wrapped.length];
+            System.arraycopy(ENVELOPE_MAGIC, 0, ret, 0, ENVELOPE_MAGIC.length);
+            ret[4] = ENVELOPE_VERSION;
+            ret[5] = ENVELOPE_WRAP_OAEP_SHA256;
+            ret[6] = (byte) (wrapped.length >>> 8);
+            ret[7] = (byte) wrapped.length;
+            System.arraycopy(wrapped, 0, ret, 8, wrapped.length);
+            return ret;
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            CIPHER_CACHE.recycle(ENVELOPE_WRAP_TRANSFORMATION, cipher);
+        }
+    }
+
+    private static byte[] readEnvelopeKey(final InputStream is, final Key privateKey)
+            throws IOException, GeneralSecurityException {
+        byte[] header = new byte[8];
+        readFully(is, header);
+        for (int i = 0; i < ENVELOPE_MAGIC.length; i++) {
+            if (header[i] != ENVELOPE_MAGIC[i]) {
+                throw new GeneralSecurityException("Illegal envelope header");
+            }
+        }
+        if (header[4] != ENVELOPE_VERSION || header[5] != ENVELOPE_WRAP_OAEP_SHA256) {
+            throw new GeneralSecurityException("Unsupported envelope");
+        }
+        byte[] wrapped = new byte[(header[6] & 0xFF) << 8 | (header[7] & 0xFF)];
+        readFully(is, wrapped);
+        Cipher cipher = CIPHER_CACHE.obtain(ENVELOPE_WRAP_TRANSFORMATION);
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, privateKey, getEnvelopeWrapSpec());
+            return cipher.doFinal(wrapped);
+        } finally {
+            recycleRSACipher(ENVELOPE_WRAP_TRANSFORMATION, cipher, privateKey);
+        }
+    }
+
+    /**
+     * 显式指定OAEP参数, 避免各Provider对MGF1摘要的默认值不一致
+     */
+    private static OAEPParameterSpec getEnvelopeWrapSpec() {
+        return new OAEPParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA1, PSource.PSpecified.DEFAULT);
+    }
+
+    /*
+     *  ########## Provider选择相关 ##########
+     */
+
+    private static final String PROVIDER_SP_KEY = "provider_";
+    private static final int PROVIDER_BENCHMARK_SIZE = 64 * 1024;
+    private static final int PROVIDER_BENCHMARK_ITERATIONS = 16;
+    private static final String[][] PROVIDER_BENCHMARK_ALGORITHMS = {
+            {"MessageDigest", "MD5"},
+            {"MessageDigest", "SHA-1"},
+            {"MessageDigest", "SHA-256"},
+            {"MessageDigest", "SHA-512"},
+            {"Mac", "HmacSHA256"},
+            {"Cipher", "AES/CBC/PKCS5Padding"},
+            {"Cipher", "AES/CTR/NoPadding"},
+            {"Cipher", "AES/GCM/NoPadding"}
+    };
+
+    /**
+     * 已选定的Provider, 键为 "类型.算法"
+     */
+    private static final Map<String, Provider> PROVIDERS = new ConcurrentHashMap<>();
+    private static final List<ProviderBenchmark> PROVIDER_BENCHMARKS = new ArrayList<>();
+    private static final AtomicInteger PROVIDER_GENERATION = new AtomicInteger();
+
+    /**
+     * 在后台选择最快的Provider
+     * <p>默认使用平台排序第一的Provider; 调用后对已安装的Provider逐个测速,
+     * 此后的摘要、Mac及加解密均固定使用各算法最快的Provider</p>
+     * <p>测速结果按系统版本持久化, 再次调用时直接复用</p>
+     */
+    public static void selectFastestProviders() {
+        ThreadPoolExecutor executor = ProviderExecutorHolder.EXECUTOR;
+        // 已有测速任务排队时不再重复提交
+        if (!executor.getQueue().isEmpty()) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                selectFastestProvidersSync();
+            }
+        });
+    }
+
+    /**
+     * 在当前线程选择最快的Provider
+     * <p>测速耗时约数秒, 须于子线程调用</p>
+     *
+     * @return 本次测速结果, 复用持久化结果时为空
+     */
+    public static List<ProviderBenchmark> selectFastestProvidersSync() {
+        SPUtils.SP sp = getEncryptSP();
+        List<ProviderBenchmark> ret = new ArrayList<>();
+        byte[] data = new byte[PROVIDER_BENCHMARK_SIZE];
+        RANDOM.nextBytes(data);
+        for (String[] algorithm : PROVIDER_BENCHMARK_ALGORITHMS) {
+            String key = algorithm[0] + "." + algorithm[1];
+            Provider provider = null;
+            String name = sp == null ? null : sp.getString(PROVIDER_SP_KEY + key, null);
+            if (name != null) {
+                provider = Security.getProvider(name);
+            }
+            if (provider == null) {
+                provider = benchmarkProviders(algorithm[0], algorithm[1], data, ret);
+                if (provider != null && sp != null) {
+                    sp.put(PROVIDER_SP_KEY + key, provider.getName());
+                }
+            }
+            if (provider != null) {
+                PROVIDERS.put(key, provider);
+            }
+        }
+        Set<String> measured = new HashSet<>();
+        for (ProviderBenchmark benchmark : ret) {
+            measured.add(benchmark.type + "." + benchmark.algorithm);
+        }
+        synchronized (PROVIDER_BENCHMARKS) {
+            // 重新测速的算法替换旧结果, 复用持久化结果的算法保留已有结果
+            for (int i = PROVIDER_BENCHMARKS.size() - 1; i >= 0; i--) {
+                ProviderBenchmark benchmark = PROVIDER_BENCHMARKS.get(i);
+                if (measured.contains(benchmark.type + "." + benchmark.algorithm)) {
+                    PROVIDER_BENCHMARKS.remove(i);
+                }
+            }
+            PROVIDER_BENCHMARKS.addAll(ret);
+        }
+        PROVIDER_GENERATION.incrementAndGet();
+        return ret;
+    }
+
+    /**
+     * 获取测速结果
+     *
+     * @return 测速结果
+     */
+    public static List<ProviderBenchmark> getProviderBenchmarks() {
+        synchronized (PROVIDER_BENCHMARKS) {
+            return new ArrayList<>(PROVIDER_BENCHMARKS);
+        }
+    }
+
+    /**
+     * 获取已选定的Provider
+     *
+     * @return 键为 "类型.算法", 如 <i>Cipher.AES/GCM/NoPadding</i>
+     */
+    public static Map<String, String> getSelectedProviders() {
+        Map<String, String> ret = new HashMap<>();
+        for (Map.Entry<String, Provider> entry : PROVIDERS.entrySet()) {
+            ret.put(entry.getKey(), entry.getValue().getName());
+        }
+        return ret;
+    }
+
+    /**
+     * 取消Provider选择, 恢复平台默认并清理持久化结果
+     */
+    public static void clearProviderSelection() {
+        PROVIDERS.clear();
+        synchronized (PROVIDER_BENCHMARKS) {
+            PROVIDER_BENCHMARKS.clear();
+        }
+        SPUtils.SP sp = getEncryptSP();
+        if (sp != null) {
+            for (String[] algorithm : PROVIDER_BENCHMARK_ALGORITHMS) {
+                sp.remove(PROVIDER_SP_KEY + algorithm[0] + "." + algorithm[1]);
+            }
+        }
+        PROVIDER_GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Provider测速结果
+     */
+    public static final class ProviderBenchmark {
+
+        private final String type;
+        private final String algorithm;
+        private final String provider;
+        private final double throughput;
+
+        ProviderBenchmark(final String type,
+                          final String algorithm,
+                          final String provider,
+                          final double throughput) {
+            this.type = type;
+            this.algorithm = algorithm;
+            this.provider = provider;
+            this.throughput = throughput;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public String getProvider() {
+            return provider;
+        }
+
+        /**
+         * 获取吞吐量 (MB/s)
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%s.%s@%s: %.1f MB/s", type, algorithm, provider, throughput);
+        }
+    }
+
+    private static Provider getProvider(final String type, final String algorithm) {
+        return PROVIDERS.isEmpty() ? null : PROVIDERS.get(type + "." + algorithm);
+    }
+
+    private static final class ProviderExecutorHolder {
+        private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+        private static ThreadPoolExecutor createExecutor() {
+            // 测速持续数秒且占满CPU, 独立低优先级线程执行, 避免阻塞并行线程池中的摘要及加解密
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(final Runnable r) {
+                            Thread thread = new Thread(new Runnable() {
+                                @Override
+                                public void run() {
+                                    Process.setThreadPriority(Process.THREAD_PRIORITY_LOWEST);
+                                    r.run();
+                                }
+                            }, "X-Provider");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    private static Provider benchmarkProviders(final String type,
+                                               final String algorithm,
+                                               final byte[] data,
+                                               final List<ProviderBenchmark> benchmarks) {
+        Provider ret = null;
+        double best = 0;
+        for (Provider provider : Security.getProviders()) {
+            double throughput;
+            try {
+                throughput = benchmarkProvider(type, algorithm, provider, data);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                // 该Provider不支持此算法
+                continue;
+            }
+            benchmarks.add(new ProviderBenchmark(type, algorithm, provider.getName(), throughput));
+            if (throughput > best) {
+                best = throughput;
+                ret = provider;
+            }
+        }
+        return ret;
+    }
+
+    private static double benchmarkProvider(final String type,
+                                            final String algorithm,
+                                            final Provider provider,
+                                            final byte[] data) throws GeneralSecurityException {
+        MessageDigest digest = null;
+        Mac mac = null;
+        Cipher cipher = null;
+        byte[] key = new byte[16];
+        byte[] iv = new byte[16];
+        byte[] out = null;
+        if ("MessageDigest".equals(type)) {
+            digest = MessageDigest.getInstance(algorithm, provider);
+        } else if ("Mac".equals(type)) {
+            mac = Mac.getInstance(algorithm, provider);
+            mac.init(new SecretKeySpec(key, algorithm));
+        } else {
+            cipher = Cipher.getInstance(algorithm, provider);
+            if ("GCM".equals(getCipherMode(algorithm))) {
+                iv = new byte[GCM_IV_LENGTH];
+            }
+            out = new byte[data.length + 32];
+        }
+        long best = Long.MAX_VALUE;
+        // 首轮用于预热, 取其后各轮最快值
+        for (int round = 0; round < 4; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < PROVIDER_BENCHMARK_ITERATIONS; i++) {
+                if (digest != null) {
+                    digest.update(data);
+                    digest.digest();
+                } else if (mac != null) {
+                    mac.doFinal(data);
+                } else {
+                    // GCM不允许重复使用同一IV
+                    iv[0]++;
+                    iv[1] = (byte) round;
+                    initCipher(cipher, Cipher.ENCRYPT_MODE, key, "AES", algorithm, iv);
+                    cipher.doFinal(data, 0, data.length, out, 0);
+                }
+            }
+            if (round > 0) {
+                best = Math.min(best, System.nanoTime() - start);
+            }
+        }
+        return (double) data.length * PROVIDER_BENCHMARK_ITERATIONS * 1000 / Math.max(1, best) * 1000000 / (1024 * 1024);
+    }
+
+    /*
+     *  ########## 预热相关 ##########
+     */
+
+    private static final int WARM_UP_SIZE = 4 * 1024;
+    private static final int WARM_UP_ITERATIONS = 64;
+
+    /**
+     * 预热常用的摘要、Mac及加解密引擎
+     * <p>完成Provider注册、类加载及JIT, 使首次调用即达到稳定速度; 耗时较长, 须于子线程调用</p>
+     */
+    static void warmUp() {
+        byte[] data = new byte[WARM_UP_SIZE];
+        byte[] key = new byte[16];
+        byte[] out = new byte[WARM_UP_SIZE + 32];
+        for (String[] algorithm : PROVIDER_BENCHMARK_ALGORITHMS) {
+            try {
+                warmUpEngine(algorithm[0], algorithm[1], data, key, out);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                // 当前系统不支持此算法
+            }
+        }
+        // 触发AEAD自动选择的检测, 避免首次调用时读取 /proc/cpuinfo 或测速
+        isAESAccelerated();
+    }
+
+    private static void warmUpEngine(final String type,
+                                     final String algorithm,
+                                     final byte[] data,
+                                     final byte[] key,
+                                     final byte[] out) throws GeneralSecurityException {
+        if ("MessageDigest".equals(type)) {
+            MessageDigest digest = DIGEST_CACHE.obtain(algorithm);
+            try {
+                for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+                    digest.update(data);
+                    digest.digest();
+                }
+            } finally {
+                DIGEST_CACHE.recycle(algorithm, digest);
+            }
+        } else if ("Mac".equals(type)) {
+            Mac mac = MAC_CACHE.obtain(algorithm);
+            try {
+                mac.init(new SecretKeySpec(key, algorithm));
+                for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+                    mac.doFinal(data);
+                }
+            } finally {
+                MAC_CACHE.recycle(algorithm, mac);
+            }
+        } else {
+            Cipher cipher = CIPHER_CACHE.obtain(algorithm);
+            try {
+                byte[] iv = new byte["GCM".equals(getCipherMode(algorithm)) ? GCM_IV_LENGTH : 16];
+                for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+                    // GCM不允许重复使用同一IV
+                    iv[0] = (byte) i;
+                    initCipher(cipher, Cipher.ENCRYPT_MODE, key, "AES", algorithm, iv);
+                    cipher.doFinal(data, 0, data.length, out, 0);
+                }
+            } finally {
+                CIPHER_CACHE.recycle(algorithm, cipher);
+            }
+        }
+    }
+
+    /*
+     *  ########## 引擎缓存相关 ##########
+     */
+
+    private static final EngineCache<MessageDigest> DIGEST_CACHE = new EngineCache<MessageDigest>() {
+        @Override
+        MessageDigest create(final String algorithm) throws GeneralSecurityException {
+            Provider provider = getProvider("MessageDigest", algorithm);
+            return provider == null
+                    ? MessageDigest.getInstance(algorithm)
+                    : MessageDigest.getInstance(algorithm, provider);
+        }
+
+        @Override
+        boolean reset(final MessageDigest engine) {
+            engine.reset();
+            return true;
+        }
+    };
+
+    private static final EngineCache<Cipher> CIPHER_CACHE = new EngineCache<Cipher>() {
+        @Override
+        Cipher create(final String transformation) throws GeneralSecurityException {
+            Provider provider = getProvider("Cipher", transformation);
+            return provider == null
+                    ? Cipher.getInstance(transformation)
+                    : Cipher.getInstance(transformation, provider);
+        }
+
+        @Override
+        boolean reset(final Cipher engine) {
+            String algorithm = getCipherKeyAlgorithm(engine.getAlgorithm());
+            if ("RSA".equals(algorithm)) {
+                // 仅公钥引擎会被归还, 公钥无需清除
+                return true;
+            }
+            int keyLength = getCipherResetKeyLength(algorithm);
+            if (keyLength <= 0) {
+                return false;
+            }
+            // 以空白秘钥及原参数按解密模式重新初始化, 避免缓存中的引擎保留调用方秘钥;
+            // 解密模式不受GCM等模式禁止重复使用IV的限制
+            try {
+                SecretKeySpec key = new SecretKeySpec(new byte[keyLength], algorithm);
+                AlgorithmParameters params = engine.getParameters();
+                if (params == null) {
+                    engine.init(Cipher.DECRYPT_MODE, key);
+                } else {
+                    engine.init(Cipher.DECRYPT_MODE, key, params);
+                }
+                return true;
+            } catch (GeneralSecurityException | RuntimeException e) {
+                return false;
+            }
+        }
+    };
+
+    private static String getCipherKeyAlgorithm(final String transformation) {
+        int index = transformation.indexOf('/');
+        String algorithm = index == -1 ? transformation : transformation.substring(0, index);
+        return algorithm.startsWith("ChaCha20") ? "ChaCha20" : algorithm;
+    }
+
+    private static int getCipherResetKeyLength(final String algorithm) {
+        if ("AES".equalsIgnoreCase(algorithm)) {
+            return 16;
+        } else if ("DES".equalsIgnoreCase(algorithm)) {
+            return 8;
+        } else if ("DESede".equalsIgnoreCase(algorithm) || "TripleDES".equalsIgnoreCase(algorithm)) {
+            return 24;
+        } else if ("ChaCha20".equalsIgnoreCase(algorithm)) {
+            return 32;
+        }
+        return -1;
+    }
+
+    private static final EngineCache<Signature> SIGNATURE_CACHE = new EngineCache<Signature>() {
+        @Override
+        Signature create(final String algorithm) throws GeneralSecurityException {
+            Provider provider = getProvider("Signature", algorithm);
+            return provider == null
+                    ? Signature.getInstance(algorithm)
+                    : Signature.getInstance(algorithm, provider);
+        }
+    };
+
+    private static final byte[] MAC_RESET_KEY = {0};
+
+    private static final EngineCache<Mac> MAC_CACHE = new EngineCache<Mac>() {
+        @Override
+        Mac create(final String algorithm) throws GeneralSecurityException {
+            Provider provider = getProvider("Mac", algorithm);
+            return provider == null
+                    ? Mac.getInstance(algorithm)
+                    : Mac.getInstance(algorithm, provider);
+        }
+
+        @Override
+        boolean reset(final Mac engine) {
+            // 以空白秘钥重新初始化, 避免缓存中的引擎保留调用方秘钥(口令)的内部副本
+            try {
+                engine.init(new SecretKeySpec(MAC_RESET_KEY, engine.getAlgorithm()));
+                return true;
+            } catch (InvalidKeyException | RuntimeException e) {
+                return false;
+            }
+        }
+    };
+
+    /**
+     * 获取引擎缓存命中统计
+     *
+     * @return 命中统计
+     */
+    public static EngineStats getEngineCacheStats() {
+        return new EngineStats(DIGEST_CACHE, CIPHER_CACHE, MAC_CACHE, SIGNATURE_CACHE);
+    }
+
+    /**
+     * 清理当前线程缓存的引擎
+     */
+    public static void clearEngineCache() {
+        DIGEST_CACHE.clear();
+        CIPHER_CACHE.clear();
+        MAC_CACHE.clear();
+        SIGNATURE_CACHE.clear();
+    }
+
+    /**
+     * 按算法名缓存的线程私有引擎
+     * <p>取出时从缓存移除, 归还时重置后放回, 同一线程内嵌套使用互不干扰;
+     * 重置失败的引擎直接丢弃, 不保留调用方秘钥</p>
+     * <p>Provider选择变化后各线程的旧引擎在下次取出时丢弃</p>
+     */
+    private static abstract class EngineCache<T> {
+
+        private final ThreadLocal<EngineMap<T>> mEngines = new ThreadLocal<EngineMap<T>>() {
+            @Override
+            protected EngineMap<T> initialValue() {
+                return new EngineMap<>();
+            }
+        };
+        private final AtomicLong mHits = new AtomicLong();
+        private final AtomicLong mMisses = new AtomicLong();
+
+        abstract T create(String algorithm) throws GeneralSecurityException;
+
+        boolean reset(T engine) {
+            return true;
+        }
+
+        T obtain(final String algorithm) throws GeneralSecurityException {
+            EngineMap<T> engines = mEngines.get();
+            int generation = PROVIDER_GENERATION.get();
+            if (engines.mGeneration != generation) {
+                engines.mMap.clear();
+                engines.mGeneration = generation;
+            }
+            T engine = engines.mMap.remove(algorithm);
+            if (engine != null) {
+                mHits.incrementAndGet();
+                return engine;
+            }
+            mMisses.incrementAndGet();
+            return create(algorithm);
+        }
+
+        void recycle(final String algorithm, final T engine) {
+            if (engine == null) {
+                return;
+            }
+            if (reset(engine)) {
+                mEngines.get().mMap.put(algorithm, engine);
+            }
+        }
+
+        void clear() {
+            mEngines.get().mMap.clear();
+        }
+    }
+
+    private static final class EngineMap<T> {
+        private final Map<String, T> mMap = new HashMap<>();
+        private int mGeneration;
+    }
+
+    /**
+     * 引擎缓存命中统计
+     */
+    public static final class EngineStats {
+
+        private final long digestHits;
+        private final long digestMisses;
+        private final long cipherHits;
+        private final long cipherMisses;
+        private final long macHits;
+        private final long macMisses;
+        private final long signatureHits;
+        private final long signatureMisses;
+
+        EngineStats(final EngineCache<?> digest,
+                    final EngineCache<?> cipher,
+                    final EngineCache<?> mac,
+                    final EngineCache<?> signature) {
+            digestHits = digest.mHits.get();
+            digestMisses = digest.mMisses.get();
+            cipherHits = cipher.mHits.get();
+            cipherMisses = cipher.mMisses.get();
+            macHits = mac.mHits.get();
+            macMisses = mac.mMisses.get();
+            signatureHits = signature.mHits.get();
+            signatureMisses = signature.mMisses.get();
+        }
+
+        public long getDigestHits() {
+            return digestHits;
+        }
+
+        public long getDigestMisses() {
+            return digestMisses;
+        }
+
+        public long getCipherHits() {
+            return cipherHits;
+        }
+
+        public long getCipherMisses() {
+            return cipherMisses;
+        }
+
+        public long getMacHits() {
+            return macHits;
+        }
+
+        public long getMacMisses() {
+            return macMisses;
+        }
+
+        public long getSignatureHits() {
+            return signatureHits;
+        }
+
+        public long getSignatureMisses() {
+            return signatureMisses;
+        }
+
+        @Override
+        public String toString() {
+            return "EngineStats{digest=" + digestHits + "/" + digestMisses
+                    + ", cipher=" + cipherHits + "/" + cipherMisses
+                    + ", mac=" + macHits + "/" + macMisses
+                    + ", signature=" + signatureHits + "/" + signatureMisses + "}";
+        }
+    }
+
+    /*
+     *  ########## 相关方法 ##########
+     */
+
+    private static final class ExecutorHolder {
+        private static final ExecutorService EXECUTOR = createExecutor();
+
+        private static ExecutorService createExecutor() {
+            int count = Math.max(2, Runtime.getRuntime().availableProcessors());
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(count, count,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        private final AtomicInteger mCount = new AtomicInteger();
+
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            return new WorkerThread(r, "X-Encrypt-" + mCount.incrementAndGet());
+                        }
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    private static final class WorkerThread extends Thread {
+        WorkerThread(final Runnable target, final String name) {
+            super(target, name);
+            setDaemon(true);
+        }
+    }
+
+    static ExecutorService getExecutor() {
+        return ExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * 有界的I/O线程池, 写索引、遍历读取文件等以I/O为主的任务不占用并行线程池
+     */
+    private static final class IOExecutorHolder {
+        private static final int THREAD_COUNT = 4;
+        private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+        private static ThreadPoolExecutor createExecutor() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT,
+                    30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        private final AtomicInteger mCount = new AtomicInteger();
+
+                        @Override
+                        public Thread newThread(final Runnable r) {
+                            return new IOThread(new Runnable() {
+                                @Override
+                                public void run() {
+                                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                                    r.run();
+                                }
+                            }, "X-Encrypt-IO-" + mCount.incrementAndGet());
+                        }
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    private static final class IOThread extends Thread {
+        IOThread(final Runnable target, final String name) {
+            super(target, name);
+            setDaemon(true);
+        }
+    }
+
+    static ExecutorService getIOExecutor() {
+        return IOExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * 在并行线程池上执行全部任务并按序返回结果
+     * <p>已处于工作线程时直接在当前线程执行, 避免线程池自锁</p>
+     */
+    static <T> List<T> invokeAll(final List<Callable<T>> tasks)
+            throws InterruptedException, ExecutionException {
+        return invokeAll(getExecutor(), WorkerThread.class, tasks);
+    }
+
+    /**
+     * 在I/O线程池上执行全部任务并按序返回结果
+     */
+    static <T> List<T> invokeAllIO(final List<Callable<T>> tasks)
+            throws InterruptedException, ExecutionException {
+        return invokeAll(getIOExecutor(), IOThread.class, tasks);
+    }
+
+    private static <T> List<T> invokeAll(final ExecutorService executor,
+                                         final Class<? extends Thread> threadClass,
+                                         final List<Callable<T>> tasks)
+            throws InterruptedException, ExecutionException {
+        List<T> ret = new ArrayList<>(tasks.size());
+        if (tasks.size() <= 1 || threadClass.isInstance(Thread.currentThread())) {
+            for (Callable<T> task : tasks) {
+                try {
+                    ret.add(task.call());
+                } catch (Exception e) {
+                    throw new ExecutionException(e);
+                }
+            }
+            return ret;
+        }
+        ExecutorCompletionService<T> service = new ExecutorCompletionService<>(executor);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(service.submit(task));
+            }
+            // 按完成顺序等待, 首个失败即抛出
+            for (int i = 0; i < futures.size(); i++) {
+                service.take().get();
+            }
+            for (Future<T> future : futures) {
+                ret.add(future.get());
+            }
+            return ret;
+        } finally {
+            // 失败或被中断时取消其余任务, 已完成的任务不受影响
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static boolean isOutOfBounds(final byte[] data, final int offset, final int len) {
+        return data == null || offset < 0 || len < 0 || offset > data.length - len;
+    }
+
+    private static String bytes2HexString(final byte[] bytes) {
+        return EncodeUtils.hexEncode(bytes);
+    }
+
+    private static byte[] hexString2Bytes(final String hexString) {
+        if (TextUtils.isEmpty(hexString)) {
+            return null;
         }
+        return EncodeUtils.hexDecode(hexString);
     }
 
     private static byte[] base64Encode(final byte[] input) {
-        return Base64.encode(input, Base64.NO_WRAP);
+        return Base64Utils.encode(input, Base64Utils.NO_WRAP);
     }
 
     private static byte[] base64Decode(final byte[] input) {
-        return Base64.decode(input, Base64.NO_WRAP);
+        return Base64Utils.decode(input, Base64Utils.NO_WRAP);
     }
 
 }
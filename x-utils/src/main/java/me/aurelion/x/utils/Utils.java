@@ -3,11 +3,14 @@ package me.aurelion.x.utils;
 import android.app.Activity;
 import android.app.Application;
 import android.os.Bundle;
+import android.os.Process;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.content.FileProvider;
 
 import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * X-Utils基础类
@@ -21,6 +24,8 @@ public class Utils {
     private static final ActivityLifecycleImpl ACTIVITY_LIFECYCLE = new ActivityLifecycleImpl();
     private static final LinkedList<Activity> ACTIVITIES = new LinkedList<>();
     private static OnAppStatusChangedListener APP_STATUS_CHANGED_LISTENER;
+    private static final AtomicBoolean WARM_UP_STARTED = new AtomicBoolean();
+    private static volatile long sWarmUpTime = -1;
 
     private Utils() {
         throw new UnsupportedOperationException("No instantiate " + getClass().getSimpleName());
@@ -39,6 +44,49 @@ public class Utils {
         }
     }
 
+    /**
+     * 初始化 X-Utils
+     * <p>请于Application中执行</p>
+     * <p>预热时在低优先级后台线程中预先加载并运行摘要、加解密及编码引擎,
+     * 使首次调用即达到稳定速度, 耗时可通过 {@link #getWarmUpTime()} 获取</p>
+     *
+     * @param app      Application
+     * @param isWarmUp 是否预热
+     */
+    public static void init(@NonNull final Application app, final boolean isWarmUp) {
+        init(app);
+        if (isWarmUp) {
+            warmUp();
+        }
+    }
+
+    /**
+     * 获取预热耗时
+     *
+     * @return 耗时(毫秒), 未预热或预热未完成返回-1
+     */
+    public static long getWarmUpTime() {
+        return sWarmUpTime;
+    }
+
+    private static void warmUp() {
+        if (WARM_UP_STARTED.getAndSet(true)) {
+            return;
+        }
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_LOWEST);
+                long start = SystemClock.elapsedRealtime();
+                EncryptUtils.warmUp();
+                EncodeUtils.warmUp();
+                sWarmUpTime = SystemClock.elapsedRealtime() - start;
+            }
+        }, "X-WarmUp");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     /**
      * 获取应用全局上下文
      *
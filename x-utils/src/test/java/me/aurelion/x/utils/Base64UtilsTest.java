@@ -0,0 +1,123 @@
+package me.aurelion.x.utils;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Base64Utils 本地单元测试, 以 java.util.Base64 为参照
+ *
+ * @author Leon (wshk729@163.com)
+ * @date 2026/10/18
+ */
+public class Base64UtilsTest {
+
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+    private static final int MAX_LENGTH = 300;
+
+    /*
+     *  ########## 编码相关 ##########
+     */
+
+    @Test
+    public void encode_noWrap() {
+        Random random = new Random(0);
+        for (int len = 0; len <= MAX_LENGTH; len++) {
+            byte[] data = randomBytes(random, len);
+            assertEncode(Base64.getEncoder().encodeToString(data), data, Base64Utils.NO_WRAP);
+        }
+    }
+
+    @Test
+    public void encode_urlSafeNoPadding() {
+        Random random = new Random(0);
+        int flags = Base64Utils.URL_SAFE | Base64Utils.NO_PADDING | Base64Utils.NO_WRAP;
+        for (int len = 0; len <= MAX_LENGTH; len++) {
+            byte[] data = randomBytes(random, len);
+            assertEncode(Base64.getUrlEncoder().withoutPadding().encodeToString(data), data, flags);
+        }
+    }
+
+    @Test
+    public void encode_mime() {
+        // 与 android.util.Base64 一致: 每76字符换行, 非空输出末尾亦换行
+        Random random = new Random(0);
+        Base64.Encoder lf = Base64.getMimeEncoder(76, "\n".getBytes(US_ASCII));
+        Base64.Encoder crlf = Base64.getMimeEncoder(76, "\r\n".getBytes(US_ASCII));
+        for (int len = 0; len <= MAX_LENGTH; len++) {
+            byte[] data = randomBytes(random, len);
+            assertEncode(len == 0 ? "" : lf.encodeToString(data) + "\n", data, Base64Utils.DEFAULT);
+            assertEncode(len == 0 ? "" : crlf.encodeToString(data) + "\r\n", data, Base64Utils.CRLF);
+        }
+    }
+
+    @Test
+    public void encode_byteBuffer() {
+        Random random = new Random(0);
+        for (int len = 0; len <= MAX_LENGTH; len++) {
+            byte[] data = randomBytes(random, len);
+            String expected = Base64.getEncoder().encodeToString(data);
+            ByteBuffer src = ByteBuffer.allocateDirect(len);
+            src.put(data).flip();
+            ByteBuffer dest = ByteBuffer.allocate(expected.length());
+            assertEquals(expected.length(), Base64Utils.encode(src, dest, Base64Utils.NO_WRAP));
+            assertEquals(expected, new String(dest.array(), US_ASCII));
+
+            dest.flip();
+            ByteBuffer out = ByteBuffer.allocateDirect(len);
+            assertEquals(len, Base64Utils.decode(dest, out, Base64Utils.DEFAULT));
+            out.flip();
+            byte[] decoded = new byte[len];
+            out.get(decoded);
+            assertArrayEquals(data, decoded);
+        }
+    }
+
+    /*
+     *  ########## 解码相关 ##########
+     */
+
+    @Test
+    public void decode_skipsWhitespace() {
+        assertArrayEquals("ABCD".getBytes(US_ASCII), Base64Utils.decode("QU JD\r\nRA==\n", Base64Utils.DEFAULT));
+        assertArrayEquals("ABCD".getBytes(US_ASCII), Base64Utils.decode("QUJDRA", Base64Utils.DEFAULT));
+    }
+
+    @Test
+    public void decode_malformed() {
+        String[] inputs = {"Q", "QQ=", "Q===", "QQ==Q", "=QQ=", "QUJD=", "QUJDQQ==QQ=="};
+        for (String input : inputs) {
+            try {
+                Base64Utils.decode(input, Base64Utils.DEFAULT);
+                fail("Decoded malformed input: " + input);
+            } catch (IllegalArgumentException ignored) {
+                // 预期
+            }
+            byte[] bytes = input.getBytes(US_ASCII);
+            assertEquals(input, -1, Base64Utils.getDecodedLength(bytes, 0, bytes.length, Base64Utils.DEFAULT));
+        }
+    }
+
+    /**
+     * 校验编码输出、预估长度, 并解码还原
+     */
+    private static void assertEncode(final String expected, final byte[] data, final int flags) {
+        assertEquals(expected, Base64Utils.encodeToString(data, flags));
+        assertEquals(expected.length(), Base64Utils.getEncodedLength(data.length, flags));
+        assertArrayEquals(data, Base64Utils.decode(expected, flags & Base64Utils.URL_SAFE));
+    }
+
+    private static byte[] randomBytes(final Random random, final int len) {
+        byte[] ret = new byte[len];
+        random.nextBytes(ret);
+        return ret;
+    }
+
+}
@@ -0,0 +1,153 @@
+package me.aurelion.x.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Random;
+import java.util.zip.Checksum;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * ChecksumUtils 本地单元测试, 以标准测试向量校验纯Java实现
+ *
+ * @author Leon (wshk729@163.com)
+ * @date 2026/10/18
+ */
+public class ChecksumUtilsTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /*
+     *  ########## CRC32C相关 ##########
+     */
+
+    @Test
+    public void crc32c_checkValue() {
+        // RFC 3720 B.4 校验值
+        byte[] data = "123456789".getBytes(UTF_8);
+        assertEquals(0xE3069283L, ChecksumUtils.crc32c(data));
+        assertEquals("E3069283", ChecksumUtils.crc32c2String(data));
+
+        Checksum table = new ChecksumUtils.CRC32C();
+        table.update(data, 0, data.length);
+        assertEquals(0xE3069283L, table.getValue());
+    }
+
+    @Test
+    public void crc32c_rfc3720Vectors() {
+        // RFC 3720 B.4: 32字节全0、全1、递增
+        byte[] zeros = new byte[32];
+        byte[] ones = new byte[32];
+        byte[] ascending = new byte[32];
+        for (int i = 0; i < 32; i++) {
+            ones[i] = (byte) 0xFF;
+            ascending[i] = (byte) i;
+        }
+        assertCRC32C(0x8A9136AAL, zeros);
+        assertCRC32C(0x62A8AB43L, ones);
+        assertCRC32C(0x46DD794EL, ascending);
+    }
+
+    @Test
+    public void crc32c_tableMatchesDefault() {
+        Random random = new Random(0);
+        for (int len = 0; len < 1024; len++) {
+            byte[] data = new byte[len];
+            random.nextBytes(data);
+            Checksum table = new ChecksumUtils.CRC32C();
+            int pos = 0;
+            while (pos < len) {
+                int count = Math.min(len - pos, random.nextInt(20));
+                table.update(data, pos, count);
+                pos += count;
+            }
+            assertEquals(ChecksumUtils.crc32c(data), table.getValue());
+        }
+    }
+
+    /*
+     *  ########## xxHash64相关 ##########
+     */
+
+    @Test
+    public void xxHash64_vectors() {
+        assertEquals(0xEF46DB3751D8E999L, ChecksumUtils.xxHash64(new byte[0]));
+        assertEquals(0xD24EC4F1A98C6E5BL, ChecksumUtils.xxHash64("a".getBytes(UTF_8)));
+        assertEquals(0x44BC2CF5AD770999L, ChecksumUtils.xxHash64("abc".getBytes(UTF_8)));
+        assertEquals(0xFBCEA83C8A378BF1L,
+                ChecksumUtils.xxHash64("Nobody inspects the spammish repetition".getBytes(UTF_8)));
+        assertEquals("44BC2CF5AD770999", ChecksumUtils.xxHash642String("abc".getBytes(UTF_8)));
+    }
+
+    @Test
+    public void xxHash64_streamingMatchesOneShot() {
+        Random random = new Random(0);
+        for (int len = 0; len < 1024; len++) {
+            byte[] data = new byte[len];
+            random.nextBytes(data);
+            Checksum checksum = ChecksumUtils.newXXHash64(0);
+            int pos = 0;
+            while (pos < len) {
+                int count = Math.min(len - pos, random.nextInt(40));
+                checksum.update(data, pos, count);
+                pos += count;
+            }
+            long expected = ChecksumUtils.xxHash64(data);
+            assertEquals(expected, checksum.getValue());
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(len);
+            buffer.put(data).flip();
+            assertEquals(expected, ChecksumUtils.xxHash64(buffer));
+        }
+    }
+
+    @Test
+    public void xxHash64_seededOverloadsAgree() throws IOException {
+        byte[] data = new byte[300 * 1024];
+        new Random(1).nextBytes(data);
+        File file = folder.newFile();
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(data);
+        } finally {
+            fos.close();
+        }
+        for (long seed : new long[]{0, 1, -1, 0x9E3779B185EBCA87L}) {
+            long expected = ChecksumUtils.xxHash64(data, seed);
+            Checksum checksum = ChecksumUtils.newXXHash64(seed);
+            checksum.update(data, 0, data.length);
+            assertEquals(expected, checksum.getValue());
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+            buffer.put(data).flip();
+            assertEquals(expected, ChecksumUtils.xxHash64(buffer, seed));
+            assertEquals(expected, ChecksumUtils.xxHash64Stream(new ByteArrayInputStream(data), seed));
+            assertEquals(expected, ChecksumUtils.xxHash64File(file, seed));
+            assertEquals(ChecksumUtils.xxHash642String(data, seed), ChecksumUtils.xxHash64File2String(file, seed));
+            assertEquals(ChecksumUtils.xxHash642String(data, seed),
+                    ChecksumUtils.xxHash64File2String(file.getPath(), seed));
+        }
+        assertEquals(ChecksumUtils.xxHash64(data), ChecksumUtils.xxHash64File(file));
+        assertNotEquals(ChecksumUtils.xxHash64(data, 0), ChecksumUtils.xxHash64(data, 1));
+    }
+
+    private static void assertCRC32C(final long expected, final byte[] data) {
+        assertEquals(expected, ChecksumUtils.crc32c(data));
+        Checksum table = new ChecksumUtils.CRC32C();
+        table.update(data, 0, data.length);
+        assertEquals(expected, table.getValue());
+    }
+
+}
@@ -0,0 +1,253 @@
+package me.aurelion.x.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ChunkUtils 本地单元测试
+ *
+ * @author Leon (wshk729@163.com)
+ * @date 2026/10/18
+ */
+public class ChunkUtilsTest {
+
+    private static final int MIN = 256;
+    private static final int AVG = 1024;
+    private static final int MAX = 4096;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /*
+     *  ########## 分块相关 ##########
+     */
+
+    @Test
+    public void chunk_deterministic() throws IOException {
+        byte[] data = randomBytes(1, 200 * 1024);
+        List<ChunkUtils.Chunk> first = ChunkUtils.chunk(data, MIN, AVG, MAX);
+        List<ChunkUtils.Chunk> second = ChunkUtils.chunk(data.clone(), MIN, AVG, MAX);
+        assertBoundariesEqual(first, second);
+
+        // 流式分块须与整块分块边界一致
+        File file = writeFile(data);
+        assertBoundariesEqual(first, ChunkUtils.chunkFile(file, MIN, AVG, MAX));
+    }
+
+    @Test
+    public void chunk_respectsSizes() {
+        byte[] data = randomBytes(2, 200 * 1024);
+        List<ChunkUtils.Chunk> chunks = ChunkUtils.chunk(data, MIN, AVG, MAX);
+        long offset = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            ChunkUtils.Chunk chunk = chunks.get(i);
+            assertEquals(offset, chunk.getOffset());
+            assertTrue(chunk.toString(), chunk.getLength() <= MAX);
+            if (i < chunks.size() - 1) {
+                assertTrue(chunk.toString(), chunk.getLength() >= MIN);
+            }
+            offset += chunk.getLength();
+        }
+        assertEquals(data.length, offset);
+
+        // 全零数据无内容边界, 按最大块切分
+        List<ChunkUtils.Chunk> zeros = ChunkUtils.chunk(new byte[3 * MAX + 1], MIN, AVG, MAX);
+        assertEquals(4, zeros.size());
+        assertEquals(MAX, zeros.get(0).getLength());
+        assertEquals(1, zeros.get(3).getLength());
+    }
+
+    @Test
+    public void chunk_invalidSizes() {
+        byte[] data = new byte[16];
+        assertNull(ChunkUtils.chunk(null, MIN, AVG, MAX));
+        assertNull(ChunkUtils.chunk(data, 0, AVG, MAX));
+        assertNull(ChunkUtils.chunk(data, MIN, 1000, MAX));
+        assertNull(ChunkUtils.chunk(data, MIN, AVG, AVG - 1));
+    }
+
+    @Test
+    public void diff_insertionOnlyChangesNearbyChunks() {
+        byte[] data = randomBytes(3, 200 * 1024);
+        int position = data.length / 2;
+        byte[] inserted = new byte[data.length + 10];
+        System.arraycopy(data, 0, inserted, 0, position);
+        Arrays.fill(inserted, position, position + 10, (byte) 0x5A);
+        System.arraycopy(data, position, inserted, position + 10, data.length - position);
+
+        List<ChunkUtils.Chunk> oldChunks = ChunkUtils.chunk(data, MIN, AVG, MAX);
+        List<ChunkUtils.Chunk> newChunks = ChunkUtils.chunk(inserted, MIN, AVG, MAX);
+        List<ChunkUtils.Chunk> changed = ChunkUtils.diff(oldChunks, newChunks);
+
+        assertFalse(changed.isEmpty());
+        assertTrue("Changed " + changed.size() + " of " + newChunks.size(), changed.size() <= 3);
+        for (ChunkUtils.Chunk chunk : changed) {
+            assertTrue(chunk.toString(), chunk.getOffset() + chunk.getLength() + MAX > position
+                    && chunk.getOffset() < position + 10 + MAX);
+        }
+        assertTrue(ChunkUtils.diff(oldChunks, oldChunks).isEmpty());
+    }
+
+    /*
+     *  ########## 块存储相关 ##########
+     */
+
+    @Test
+    public void store_roundTrip() throws IOException {
+        ChunkUtils.ChunkStore store = ChunkUtils.getStore(folder.newFolder("store"));
+        byte[] data = randomBytes(4, 1024 * 1024);
+        File src = writeFile(data);
+
+        List<ChunkUtils.Chunk> chunks = store.put(src);
+        assertNotNull(chunks);
+        assertTrue(store.getMissing(chunks).isEmpty());
+        assertEquals(data.length, store.getSize());
+        for (ChunkUtils.Chunk chunk : chunks) {
+            int offset = (int) chunk.getOffset();
+            assertArrayEquals(Arrays.copyOfRange(data, offset, offset + chunk.getLength()), store.get(chunk));
+        }
+
+        // 相同内容再次保存不重复占用空间
+        assertBoundariesEqual(chunks, store.put(writeFile(data)));
+        assertEquals(data.length, store.getSize());
+
+        File dest = new File(folder.getRoot(), "restored");
+        assertTrue(store.restore(chunks, dest));
+        assertArrayEquals(data, readFile(dest));
+    }
+
+    @Test
+    public void store_concurrentPut() throws Exception {
+        final ChunkUtils.ChunkStore store = ChunkUtils.getStore(folder.newFolder("store"));
+        final byte[] data = randomBytes(8, 1024 * 1024);
+        final File src = writeFile(data);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<ChunkUtils.Chunk>>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(new Callable<List<ChunkUtils.Chunk>>() {
+                    @Override
+                    public List<ChunkUtils.Chunk> call() throws Exception {
+                        start.await();
+                        return store.put(src);
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<List<ChunkUtils.Chunk>> future : futures) {
+                List<ChunkUtils.Chunk> chunks = future.get();
+                assertNotNull(chunks);
+                assertTrue(store.getMissing(chunks).isEmpty());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // 无残留临时文件
+        assertEquals(data.length, store.getSize());
+    }
+
+    @Test
+    public void store_retain() throws IOException {
+        ChunkUtils.ChunkStore store = ChunkUtils.getStore(folder.newFolder("store"));
+        List<ChunkUtils.Chunk> kept = store.put(writeFile(randomBytes(5, 512 * 1024)));
+        List<ChunkUtils.Chunk> dropped = store.put(writeFile(randomBytes(6, 512 * 1024)));
+
+        List<List<ChunkUtils.Chunk>> recipes = new ArrayList<>();
+        recipes.add(kept);
+        assertEquals(dropped.size(), store.retain(recipes));
+        assertTrue(store.getMissing(kept).isEmpty());
+        assertEquals(dropped.size(), store.getMissing(dropped).size());
+        assertFalse(store.restore(dropped, new File(folder.getRoot(), "dropped")));
+
+        assertEquals(kept.size(), store.retain(Collections.<List<ChunkUtils.Chunk>>emptyList()));
+        assertEquals(0, store.getSize());
+    }
+
+    @Test
+    public void store_rejectsCorruptChunk() throws IOException {
+        ChunkUtils.ChunkStore store = ChunkUtils.getStore(folder.newFolder("store"));
+        List<ChunkUtils.Chunk> chunks = store.put(writeFile(randomBytes(7, 64 * 1024)));
+        ChunkUtils.Chunk chunk = chunks.get(0);
+        String name = chunk.getDigestString();
+        File file = new File(new File(store.getDir(), name.substring(0, 2)), name);
+        byte[] content = readFile(file);
+        content[0] ^= 1;
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            fos.write(content);
+        } finally {
+            fos.close();
+        }
+        assertNull(store.get(chunk));
+    }
+
+    private static void assertBoundariesEqual(final List<ChunkUtils.Chunk> expected,
+                                              final List<ChunkUtils.Chunk> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getOffset(), actual.get(i).getOffset());
+            assertEquals(expected.get(i).getLength(), actual.get(i).getLength());
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    private static byte[] randomBytes(final long seed, final int len) {
+        byte[] ret = new byte[len];
+        new Random(seed).nextBytes(ret);
+        return ret;
+    }
+
+    private File writeFile(final byte[] data) throws IOException {
+        File ret = folder.newFile();
+        FileOutputStream fos = new FileOutputStream(ret);
+        try {
+            fos.write(data);
+        } finally {
+            fos.close();
+        }
+        return ret;
+    }
+
+    private static byte[] readFile(final File file) throws IOException {
+        byte[] ret = new byte[(int) file.length()];
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            int offset = 0;
+            while (offset < ret.length) {
+                int len = fis.read(ret, offset, ret.length - offset);
+                if (len == -1) {
+                    throw new IOException("Unexpected end of " + file);
+                }
+                offset += len;
+            }
+        } finally {
+            fis.close();
+        }
+        return ret;
+    }
+
+}
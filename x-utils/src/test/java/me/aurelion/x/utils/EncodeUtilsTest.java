@@ -0,0 +1,165 @@
+package me.aurelion.x.utils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * EncodeUtils 本地单元测试
+ *
+ * @author Leon (wshk729@163.com)
+ * @date 2026/10/18
+ */
+public class EncodeUtilsTest {
+
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+
+    /*
+     *  ########## Hex相关 ##########
+     */
+
+    @Test
+    public void hexEncode_allBytes() {
+        byte[] data = new byte[256];
+        StringBuilder upper = new StringBuilder();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+            upper.append(String.format("%02X", i));
+        }
+        assertEquals(upper.toString(), EncodeUtils.hexEncode(data));
+        assertEquals(upper.toString().toLowerCase(Locale.US), EncodeUtils.hexEncode(data, false));
+        assertArrayEquals(data, EncodeUtils.hexDecode(upper));
+        assertEquals("", EncodeUtils.hexEncode(null));
+    }
+
+    @Test
+    public void hexDecode_oddLength() {
+        // 首位视为低4位, 与原 hexString2Bytes 补'0'一致
+        assertArrayEquals(new byte[]{0x01}, EncodeUtils.hexDecode("1"));
+        assertArrayEquals(new byte[]{0x0A, (byte) 0xBC}, EncodeUtils.hexDecode("ABC"));
+
+        byte[] dest = new byte[3];
+        assertEquals(2, EncodeUtils.hexDecode("xxfA1", 2, 5, dest, 1));
+        assertArrayEquals(new byte[]{0, 0x0F, (byte) 0xA1}, dest);
+    }
+
+    @Test
+    public void hexDecode_mixedCase() {
+        assertArrayEquals(new byte[]{(byte) 0xAB, (byte) 0xCD, (byte) 0xEF}, EncodeUtils.hexDecode("aBcDeF"));
+        assertArrayEquals(EncodeUtils.hexDecode("DEADBEEF"), EncodeUtils.hexDecode("deadbeef"));
+    }
+
+    @Test
+    public void hexDecode_illegalChars() {
+        String[] inputs = {"0G", "zz", " 0", "0x10", "éa", "００"};
+        for (String input : inputs) {
+            try {
+                EncodeUtils.hexDecode(input);
+                fail("Decoded illegal input: " + input);
+            } catch (IllegalArgumentException ignored) {
+                // 预期
+            }
+        }
+        assertFalse(EncodeUtils.hexDecode(new StringReader("00g0"), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void hex_badArguments() {
+        byte[] data = new byte[4];
+        char[] chars = new char[8];
+        assertEquals(-1, EncodeUtils.hexEncode(null, 0, 0, chars, 0, true));
+        assertEquals(-1, EncodeUtils.hexEncode(data, 0, 4, null, 0, true));
+        assertEquals(-1, EncodeUtils.hexEncode(data, 1, 4, chars, 0, true));
+        assertEquals(-1, EncodeUtils.hexEncode(data, -1, 2, chars, 0, true));
+        assertEquals(-1, EncodeUtils.hexEncode(data, 0, 4, chars, 1, true));
+        assertEquals(8, EncodeUtils.hexEncode(data, 0, 4, chars, 0, true));
+
+        assertFalse(EncodeUtils.hexEncode(null, 0, 0, new StringBuilder(), true));
+        assertFalse(EncodeUtils.hexEncode(data, 0, 4, null, true));
+        assertFalse(EncodeUtils.hexEncode(data, 2, 3, new StringBuilder(), true));
+
+        assertEquals(-1, EncodeUtils.hexDecode(null, 0, 0, data, 0));
+        assertEquals(-1, EncodeUtils.hexDecode("0011", 0, 4, null, 0));
+        assertEquals(-1, EncodeUtils.hexDecode("0011", 0, 5, data, 0));
+        assertEquals(-1, EncodeUtils.hexDecode("0011", 3, 2, data, 0));
+        assertEquals(-1, EncodeUtils.hexDecode("0011223344", 0, 10, data, 0));
+        assertEquals(-1, EncodeUtils.hexDecode("0011", 0, 4, data, 3));
+        assertEquals(2, EncodeUtils.hexDecode("0011", 0, 4, data, 2));
+    }
+
+    @Test
+    public void hex_appendable() {
+        StringBuilder sb = new StringBuilder("0x");
+        assertTrue(EncodeUtils.hexEncode(new byte[]{0x12, (byte) 0xAB, 0x00}, 1, 2, sb, false));
+        assertEquals("0xab00", sb.toString());
+    }
+
+    @Test
+    public void hex_stream() {
+        byte[] data = new byte[100000];
+        new Random(0).nextBytes(data);
+        StringWriter writer = new StringWriter();
+        assertTrue(EncodeUtils.hexEncode(new ByteArrayInputStream(data), writer, false));
+        String hex = writer.toString();
+        assertEquals(EncodeUtils.hexEncode(data, false), hex);
+
+        // 每次读取奇数个字符, 字节跨越读取边界
+        for (int step : new int[]{1, 3, 7, 8191}) {
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            assertTrue(EncodeUtils.hexDecode(new ChunkedReader(hex, step), os));
+            assertArrayEquals(data, os.toByteArray());
+        }
+
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        assertTrue(EncodeUtils.hexDecode(new ChunkedReader("48656C6c6F", 3), os));
+        assertArrayEquals("Hello".getBytes(US_ASCII), os.toByteArray());
+        // 流式解译无法预读, 奇数总长度视为错误
+        assertFalse(EncodeUtils.hexDecode(new ChunkedReader("ABC", 1), new ByteArrayOutputStream()));
+    }
+
+    /**
+     * 每次最多返回 step 个字符的Reader
+     */
+    private static final class ChunkedReader extends Reader {
+
+        private final String content;
+        private final int step;
+        private int position;
+
+        ChunkedReader(final String content, final int step) {
+            this.content = content;
+            this.step = step;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            if (position == content.length()) {
+                return -1;
+            }
+            int count = Math.min(Math.min(len, step), content.length() - position);
+            content.getChars(position, position + count, cbuf, off);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+            position = content.length();
+        }
+    }
+
+}
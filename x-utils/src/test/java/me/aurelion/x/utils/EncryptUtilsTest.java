@@ -0,0 +1,441 @@
+package me.aurelion.x.utils;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * EncryptUtils 本地单元测试, 以标准测试向量及JDK实现校验
+ *
+ * @author Leon (wshk729@163.com)
+ * @date 2026/10/18
+ */
+public class EncryptUtilsTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int MB = 1024 * 1024;
+    private static final int GCM_HEADER_LENGTH = 17;
+    private static final int GCM_TAG_LENGTH = 16;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /*
+     *  ########## 增量摘要相关 ##########
+     */
+
+    @Test
+    public void incrementalDigest_md5Vectors() {
+        // RFC 1321 A.5
+        assertIncremental("MD5", "", "d41d8cd98f00b204e9800998ecf8427e");
+        assertIncremental("MD5", "abc", "900150983cd24fb0d6963f7d28e17f72");
+        assertIncremental("MD5", "12345678901234567890123456789012345678901234567890123456789012345678901234567890",
+                "57edf4a22be3c955ac49da2e2107b67a");
+    }
+
+    @Test
+    public void incrementalDigest_sha1Vectors() {
+        // FIPS 180-2 附录A
+        assertIncremental("SHA-1", "abc", "a9993e364706816aba3e25717850c26c9cd0d89d");
+        assertIncremental("SHA-1", "abcdbcdecdefdefgefghfghighijhijkijkljklmklmnlmnomnopnopq",
+                "84983e441c3bd26ebaae4aa1f95129e5e54670f1");
+    }
+
+    @Test
+    public void incrementalDigest_sha256Vectors() {
+        // FIPS 180-2 附录B
+        assertIncremental("SHA-256", "abc", "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertIncremental("SHA-256", "abcdbcdecdefdefgefghfghighijhijkijkljklmklmnlmnomnopnopq",
+                "248d6a61d20638b8e5c026930c3e6039a33ce45964ff2167f6ecedd419db06c1");
+    }
+
+    @Test
+    public void incrementalDigest_millionA() {
+        byte[] data = new byte[1000000];
+        Arrays.fill(data, (byte) 'a');
+        assertIncremental("MD5", data, "7707d6ae4e027c70eea2a935c2296f21");
+        assertIncremental("SHA-1", data, "34aa973cd4c4daa4f61eeb2bdbad27316534016f");
+        assertIncremental("SHA-256", data, "cdc76e5c9914fb9281a1c7e284d73e67f1809a48a497200e046d39ccc7112cd0");
+    }
+
+    @Test
+    public void incrementalDigest_unsupportedAlgorithm() {
+        assertNull(EncryptUtils.newIncrementalDigest("SHA-512"));
+    }
+
+    /*
+     *  ########## ChaCha20-Poly1305相关 ##########
+     */
+
+    @Test
+    public void chaCha20Poly1305_rfc8439Vector() {
+        // RFC 8439 2.8.2
+        byte[] key = hex2Bytes("808182838485868788898a8b8c8d8e8f909192939495969798999a9b9c9d9e9f");
+        byte[] nonce = hex2Bytes("070000004041424344454647");
+        byte[] aad = hex2Bytes("50515253c0c1c2c3c4c5c6c7");
+        byte[] plain = ("Ladies and Gentlemen of the class of '99: If I could offer you only one tip "
+                + "for the future, sunscreen would be it.").getBytes(UTF_8);
+        byte[] expected = hex2Bytes("d31a8d34648e60db7b86afbc53ef7ec2a4aded51296e08fea9e2b5a736ee62d6"
+                + "3dbea45e8ca9671282fafb69da92728b1a71de0a9e060b2905d6a5b67ecd3b36"
+                + "92ddbd7f2d778b8c9803aee328091b58fab324e4fad675945585808b4831d7bc"
+                + "3ff4def08e4b7a9de576d26586cec64b6116"
+                // tag
+                + "1ae10b594f09e26a7e902ecbd0600691");
+
+        assertArrayEquals(expected, EncryptUtils.ChaCha20Poly1305.seal(key, nonce, aad, plain, true));
+        assertArrayEquals(plain, EncryptUtils.ChaCha20Poly1305.seal(key, nonce, aad, expected, false));
+
+        byte[] tampered = expected.clone();
+        tampered[tampered.length - 1] ^= 1;
+        assertNull(EncryptUtils.ChaCha20Poly1305.seal(key, nonce, aad, tampered, false));
+        byte[] badAad = aad.clone();
+        badAad[0] ^= 1;
+        assertNull(EncryptUtils.ChaCha20Poly1305.seal(key, nonce, badAad, expected, false));
+    }
+
+    /*
+     *  ########## 并行AES相关 ##########
+     */
+
+    @Test
+    public void aesCTR_matchesSequential() throws GeneralSecurityException {
+        byte[] key = randomBytes(1, 16);
+        // 计数器低位全1, 分段间计数器须向高位进位
+        byte[] iv = new byte[16];
+        Arrays.fill(iv, 8, 16, (byte) 0xFF);
+        // 长度不对齐分组及1MB分段, 末段跨越分段边界
+        for (int len : new int[]{1, 15, 17, MB - 1, MB + 1, 3 * MB + 13}) {
+            byte[] data = randomBytes(len, len);
+            byte[] expected = jdkCTR(key, iv, data);
+            assertArrayEquals("len " + len, expected, EncryptUtils.encryptAESCTR(data, key, iv));
+            assertArrayEquals("len " + len, data, EncryptUtils.decryptAESCTR(expected, key, iv));
+        }
+        assertNull(EncryptUtils.encryptAESCTR(new byte[0], key, iv));
+        assertNull(EncryptUtils.encryptAESCTR(new byte[16], key, new byte[8]));
+    }
+
+    @Test
+    public void aesCTR_randomAccess() throws GeneralSecurityException {
+        byte[] key = randomBytes(2, 32);
+        byte[] iv = randomBytes(3, 16);
+        byte[] data = randomBytes(4, 2 * MB + 100);
+        byte[] cipher = jdkCTR(key, iv, data);
+        Random random = new Random(5);
+        for (int i = 0; i < 20; i++) {
+            // 起止位置均不对齐分组
+            int from = random.nextInt(data.length);
+            int to = from + 1 + random.nextInt(data.length - from);
+            byte[] plain = EncryptUtils.decryptAESCTR(Arrays.copyOfRange(cipher, from, to), key, iv, from);
+            assertArrayEquals("from " + from, Arrays.copyOfRange(data, from, to), plain);
+        }
+    }
+
+    @Test
+    public void aesCTR_file() throws IOException, GeneralSecurityException {
+        byte[] key = randomBytes(6, 16);
+        byte[] iv = randomBytes(7, 16);
+        byte[] data = randomBytes(8, 9 * MB + 7);
+        File src = writeFile(data);
+        File encrypted = folder.newFile();
+        File decrypted = folder.newFile();
+        assertTrue(EncryptUtils.encryptAESCTRFile(src, encrypted, key, iv));
+        assertArrayEquals(jdkCTR(key, iv, data), readFile(encrypted));
+        assertTrue(EncryptUtils.decryptAESCTRFile(encrypted, decrypted, key, iv));
+        assertArrayEquals(data, readFile(decrypted));
+    }
+
+    @Test
+    public void aesGCMChunked_roundTrip() {
+        byte[] key = randomBytes(9, 16);
+        int chunkSize = 1000;
+        for (int len : new int[]{0, 1, 999, 1000, 1001, 5 * 1000, 12345}) {
+            byte[] data = randomBytes(len, len);
+            byte[] container = EncryptUtils.encryptAESGCMChunked(data, key, chunkSize);
+            int count = Math.max(1, (len + chunkSize - 1) / chunkSize);
+            assertEquals(GCM_HEADER_LENGTH + len + count * GCM_TAG_LENGTH, container.length);
+            assertArrayEquals("len " + len, data, EncryptUtils.decryptAESGCMChunked(container, key));
+        }
+        byte[] data = randomBytes(10, 300 * 1024);
+        assertArrayEquals(data, EncryptUtils.decryptAESGCMChunked(EncryptUtils.encryptAESGCMChunked(data, key), key));
+
+        assertNull(EncryptUtils.encryptAESGCMChunked(data, key, 0));
+        assertNull(EncryptUtils.encryptAESGCMChunked(data, key, EncryptUtils.GCM_MAX_CHUNK_SIZE + 1));
+    }
+
+    @Test
+    public void aesGCMChunked_rejectsTampering() {
+        byte[] key = randomBytes(11, 16);
+        int chunkSize = 1000;
+        byte[] data = randomBytes(12, 3500);
+        byte[] container = EncryptUtils.encryptAESGCMChunked(data, key, chunkSize);
+        int cipherSize = chunkSize + GCM_TAG_LENGTH;
+
+        // 交换前两块
+        byte[] swapped = container.clone();
+        System.arraycopy(container, GCM_HEADER_LENGTH, swapped, GCM_HEADER_LENGTH + cipherSize, cipherSize);
+        System.arraycopy(container, GCM_HEADER_LENGTH + cipherSize, swapped, GCM_HEADER_LENGTH, cipherSize);
+        assertNull(EncryptUtils.decryptAESGCMChunked(swapped, key));
+
+        // 在块边界截断, 剩余末块未标记为末块
+        assertNull(EncryptUtils.decryptAESGCMChunked(
+                Arrays.copyOf(container, GCM_HEADER_LENGTH + 3 * cipherSize), key));
+        // 截断于块中部及头部内
+        assertNull(EncryptUtils.decryptAESGCMChunked(Arrays.copyOf(container, container.length - 1), key));
+        assertNull(EncryptUtils.decryptAESGCMChunked(Arrays.copyOf(container, GCM_HEADER_LENGTH - 1), key));
+
+        // 伪造的分块大小
+        for (int size : new int[]{0, -1, EncryptUtils.GCM_MAX_CHUNK_SIZE + 1, Integer.MAX_VALUE, 999, 1001}) {
+            byte[] forged = container.clone();
+            putInt(forged, 5, size);
+            assertNull("size " + size, EncryptUtils.decryptAESGCMChunked(forged, key));
+            assertNull("size " + size, EncryptUtils.decryptAESGCMChunk(forged, key, 0));
+        }
+
+        byte[] flipped = container.clone();
+        flipped[GCM_HEADER_LENGTH + 2 * cipherSize + 5] ^= 1;
+        assertNull(EncryptUtils.decryptAESGCMChunked(flipped, key));
+        assertNull(EncryptUtils.decryptAESGCMChunked(container, randomBytes(13, 16)));
+    }
+
+    @Test
+    public void aesGCMChunk_single() throws IOException {
+        byte[] key = randomBytes(14, 16);
+        int chunkSize = 1000;
+        byte[] data = randomBytes(15, 3500);
+        byte[] container = EncryptUtils.encryptAESGCMChunked(data, key, chunkSize);
+        File file = writeFile(container);
+        for (int i = 0; i < 4; i++) {
+            byte[] expected = Arrays.copyOfRange(data, i * chunkSize, Math.min(data.length, (i + 1) * chunkSize));
+            assertArrayEquals("chunk " + i, expected, EncryptUtils.decryptAESGCMChunk(container, key, i));
+            assertArrayEquals("chunk " + i, expected, EncryptUtils.decryptAESGCMChunk(file, key, i));
+        }
+        assertNull(EncryptUtils.decryptAESGCMChunk(container, key, 4));
+        assertNull(EncryptUtils.decryptAESGCMChunk(container, key, -1));
+        assertNull(EncryptUtils.decryptAESGCMChunk(file, key, 4));
+
+        // 单块解密同样校验末块标记: 截断后的最后一块不可通过
+        byte[] truncated = Arrays.copyOf(container, GCM_HEADER_LENGTH + 3 * (chunkSize + GCM_TAG_LENGTH));
+        assertNotNull(EncryptUtils.decryptAESGCMChunk(truncated, key, 1));
+        assertNull(EncryptUtils.decryptAESGCMChunk(truncated, key, 2));
+    }
+
+    @Test
+    public void aesGCMChunked_file() throws IOException {
+        byte[] key = randomBytes(16, 32);
+        byte[] data = randomBytes(17, 5 * MB + 3);
+        File src = writeFile(data);
+        File encrypted = folder.newFile();
+        File decrypted = folder.newFile();
+        assertTrue(EncryptUtils.encryptAESGCMChunkedFile(src, encrypted, key, EncryptUtils.GCM_CHUNK_SIZE));
+        assertArrayEquals(data, EncryptUtils.decryptAESGCMChunked(readFile(encrypted), key));
+        assertTrue(EncryptUtils.decryptAESGCMChunkedFile(encrypted, decrypted, key));
+        assertArrayEquals(data, readFile(decrypted));
+
+        // 截断的容器文件
+        RandomAccessFile raf = new RandomAccessFile(encrypted, "rw");
+        try {
+            raf.setLength(raf.length() - 100);
+        } finally {
+            raf.close();
+        }
+        assertFalse(EncryptUtils.decryptAESGCMChunkedFile(encrypted, decrypted, key));
+    }
+
+    /*
+     *  ########## RSA相关 ##########
+     */
+
+    @Test
+    public void rsa_multiBlock2048() throws GeneralSecurityException {
+        assertRSAMultiBlock(2048);
+    }
+
+    @Test
+    public void rsa_multiBlock4096() throws GeneralSecurityException {
+        assertRSAMultiBlock(4096);
+    }
+
+    /**
+     * 按各填充方式推导的分块长度加解密多块数据
+     * <p>PKCS1: k - 11; OAEP: k - 2 * hLen - 2; NoPadding: k</p>
+     */
+    private static void assertRSAMultiBlock(final int keySize) throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(keySize, new SecureRandom());
+        KeyPair pair = generator.generateKeyPair();
+        int k = keySize / 8;
+        assertRSAMultiBlock(pair, "RSA/ECB/PKCS1Padding", k, k - 11);
+        assertRSAMultiBlock(pair, "RSA/ECB/OAEPPadding", k, k - 2 * 20 - 2);
+        assertRSAMultiBlock(pair, "RSA/ECB/OAEPWithSHA-1AndMGF1Padding", k, k - 2 * 20 - 2);
+        assertRSAMultiBlock(pair, "RSA/ECB/OAEPWithSHA-256AndMGF1Padding", k, k - 2 * 32 - 2);
+        assertRSAMultiBlock(pair, "RSA/ECB/NoPadding", k, k);
+    }
+
+    private static void assertRSAMultiBlock(final KeyPair pair,
+                                            final String transformation,
+                                            final int k,
+                                            final int blockLen) {
+        boolean isNoPadding = blockLen == k;
+        // 恰好一块、多一字节及三块半, NoPadding 须为整块且数值小于模数
+        int[] lengths = isNoPadding ? new int[]{k, 3 * k} : new int[]{blockLen, blockLen + 1, 3 * blockLen + blockLen / 2};
+        for (int len : lengths) {
+            String msg = transformation + " " + k * 8 + " len " + len;
+            byte[] data = randomBytes(len, len);
+            if (isNoPadding) {
+                for (int i = 0; i < len; i += k) {
+                    data[i] = 0;
+                }
+            }
+            int blocks = (len + blockLen - 1) / blockLen;
+
+            byte[] encrypted = EncryptUtils.encryptRSA(data, pair.getPublic(), transformation);
+            assertNotNull(msg, encrypted);
+            assertEquals(msg, blocks * k, encrypted.length);
+            assertEquals(msg, encrypted.length,
+                    EncryptUtils.getRSAOutputSize(len, pair.getPublic(), transformation, true));
+            assertArrayEquals(msg, data, EncryptUtils.decryptRSA(encrypted, pair.getPrivate(), transformation));
+
+            // 调用方数组
+            byte[] output = new byte[encrypted.length + 3];
+            assertEquals(msg, encrypted.length, EncryptUtils.encryptRSA(data, 0, len, output, 3,
+                    pair.getPublic(), transformation));
+            byte[] plain = new byte[EncryptUtils.getRSAOutputSize(encrypted.length, pair.getPrivate(),
+                    transformation, false)];
+            assertEquals(msg, len, EncryptUtils.decryptRSA(output, 3, encrypted.length, plain, 0,
+                    pair.getPrivate(), transformation));
+            assertArrayEquals(msg, data, Arrays.copyOf(plain, len));
+
+            // 直接缓冲区
+            ByteBuffer input = ByteBuffer.allocateDirect(len);
+            input.put(data).flip();
+            ByteBuffer cipherBuffer = ByteBuffer.allocateDirect(encrypted.length);
+            assertEquals(msg, encrypted.length,
+                    EncryptUtils.encryptRSA(input, cipherBuffer, pair.getPublic(), transformation));
+            assertFalse(msg, input.hasRemaining());
+            assertFalse(msg, cipherBuffer.hasRemaining());
+            cipherBuffer.flip();
+            ByteBuffer plainBuffer = ByteBuffer.allocate(plain.length);
+            assertEquals(msg, len,
+                    EncryptUtils.decryptRSA(cipherBuffer, plainBuffer, pair.getPrivate(), transformation));
+            plainBuffer.flip();
+            byte[] decrypted = new byte[plainBuffer.remaining()];
+            plainBuffer.get(decrypted);
+            assertArrayEquals(msg, data, decrypted);
+
+            // 输出空间不足
+            input.rewind();
+            assertEquals(msg, -1, EncryptUtils.encryptRSA(input, ByteBuffer.allocate(encrypted.length - 1),
+                    pair.getPublic(), transformation));
+            assertEquals(msg, 0, input.position());
+        }
+    }
+
+    /**
+     * 逐字节追加、一次追加及保存恢复后追加的结果均须与向量一致
+     */
+    private static void assertIncremental(final String algorithm, final String data, final String expected) {
+        assertIncremental(algorithm, data.getBytes(UTF_8), expected);
+    }
+
+    private static void assertIncremental(final String algorithm, final byte[] data, final String expected) {
+        EncryptUtils.IncrementalDigest whole = EncryptUtils.newIncrementalDigest(algorithm);
+        whole.update(data, 0, data.length);
+        assertEquals(algorithm, expected, whole.digest2String().toLowerCase(Locale.US));
+
+        int half = data.length / 2;
+        EncryptUtils.IncrementalDigest first = EncryptUtils.newIncrementalDigest(algorithm);
+        for (int i = 0; i < half; i++) {
+            first.update(data, i, 1);
+        }
+        // 中途取摘要不影响后续追加
+        first.digest();
+        EncryptUtils.IncrementalDigest restored = EncryptUtils.restoreIncrementalDigest(first.save());
+        restored.update(data, half, data.length - half);
+        assertEquals(algorithm + " restored", expected, restored.digest2String().toLowerCase(Locale.US));
+        assertEquals(data.length, restored.getOffset());
+    }
+
+    private static byte[] hex2Bytes(final String hex) {
+        byte[] ret = new byte[hex.length() / 2];
+        for (int i = 0; i < ret.length; i++) {
+            ret[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return ret;
+    }
+
+    private static byte[] jdkCTR(final byte[] key, final byte[] iv, final byte[] data)
+            throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
+        return cipher.doFinal(data);
+    }
+
+    private static void putInt(final byte[] data, final int offset, final int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+
+    private static byte[] randomBytes(final long seed, final int len) {
+        byte[] ret = new byte[len];
+        new Random(seed).nextBytes(ret);
+        return ret;
+    }
+
+    private File writeFile(final byte[] data) throws IOException {
+        File ret = folder.newFile();
+        FileOutputStream fos = new FileOutputStream(ret);
+        try {
+            fos.write(data);
+        } finally {
+            fos.close();
+        }
+        return ret;
+    }
+
+    private static byte[] readFile(final File file) throws IOException {
+        byte[] ret = new byte[(int) file.length()];
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            int offset = 0;
+            while (offset < ret.length) {
+                int len = fis.read(ret, offset, ret.length - offset);
+                if (len == -1) {
+                    throw new IOException("Unexpected end of " + file);
+                }
+                offset += len;
+            }
+        } finally {
+            fis.close();
+        }
+        return ret;
+    }
+
+}